@@ -1,18 +1,26 @@
 package com.kabb.bloodbank;
 
 import com.kabb.bloodbank.security.JwtAuthenticationFilter;
+import com.kabb.bloodbank.security.PasswordEncoderCalibrator;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.Map;
+
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -21,9 +29,27 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CorsConfigurationSource corsConfigurationSource;
 
+    private static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * 알고리즘 id 접두사({bcrypt}...)를 붙여 저장하는 위임 인코더
+     * - strength 미설정 시 기동 시점에 목표 해시 시간으로 측정
+     * - 접두사 없는 기존 해시도 BCrypt로 검증하며, 로그인 시 재해시 대상이 됨
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:0}") int bcryptStrength,
+            @Value("${security.password.target-hash-millis:250}") long targetHashMillis) {
+        int strength = bcryptStrength;
+        if (strength <= 0) {
+            strength = PasswordEncoderCalibrator.calibrateBCryptStrength(targetHashMillis);
+            log.info("BCrypt strength calibrated to {} for a {}ms target", strength, targetHashMillis);
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -40,12 +66,17 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // JWT 사용 시 세션 비활성화
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 등 비동기 응답의 마무리와 오류 페이지 디스패치는 인증 정보 없이 들어옴 (최초 요청에서 이미 인가됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // 회원가입, 로그인은 인증 불필요
                         .requestMatchers("/api/user/**").authenticated() // 사용자 정보 조회는 인증 필요
                         .requestMatchers("/api/payments/**").authenticated() // 결제 메뉴는 로그인한 사용자만 접근
                         .requestMatchers("/api/admin/**").hasRole("ADMIN") // 관리자 API는 ADMIN 권한 필요
                         .requestMatchers("/api/test/**").permitAll() // 테스트용: 테스트 데이터 생성 API
+                        .requestMatchers("/.well-known/jwks.json").permitAll() // JWT 검증용 공개키
+                        .requestMatchers("/actuator/health").permitAll() // 헬스 체크
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // 메트릭은 관리자만 조회
                         .anyRequest().authenticated() // 나머지 요청은 인증 필요
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
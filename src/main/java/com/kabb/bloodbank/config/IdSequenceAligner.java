@@ -0,0 +1,68 @@
+package com.kabb.bloodbank.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+
+/**
+ * 기동 시 엔티티 ID 시퀀스를 기존 데이터 뒤로 맞춤
+ * - IDENTITY로 쌓인 행이 있는 DB에서 ddl-auto=update가 새로 만든 *_seq 시퀀스는 1부터 시작해 INSERT가 기존 키와 충돌
+ * - 시퀀스 값을 하나 받아 그 블록이 max(id)와 겹치면 max(id) + allocationSize에서 다시 시작
+ *   (pooled 최적화기는 받은 값 - allocationSize + 1부터 사용하므로 다음 ID는 max(id) + 1)
+ * - 이미 앞서 있는 시퀀스는 블록 하나만 소모하고 그대로 둠
+ * - 전환 후 첫 배포는 한 노드를 먼저 기동 (여러 노드가 동시에 맞추면 같은 값으로 두 번 재시작될 수 있음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "db.sequence-alignment.enabled", havingValue = "true", matchIfMissing = true)
+public class IdSequenceAligner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            if (table == null) {
+                continue;
+            }
+            for (Field field : type.getDeclaredFields()) {
+                SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+                if (generator != null && field.isAnnotationPresent(Id.class)) {
+                    align(table.name(), generator.sequenceName(), generator.allocationSize(), sequenceSupport);
+                }
+            }
+        }
+    }
+
+    private void align(String table, String sequence, int allocationSize, SequenceSupport sequenceSupport) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+        if (next != null && next - allocationSize + 1 > maxId) {
+            return;
+        }
+        long restartWith = maxId + allocationSize;
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + restartWith);
+        log.warn("Sequence {} was behind {}.id (max {}), restarted with {}", sequence, table, maxId, restartWith);
+    }
+}
@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @Component
@@ -12,5 +15,25 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private long accessTokenExpiration; // milliseconds
-}
+    private long refreshTokenExpiration = 1209600000L; // milliseconds (기본 14일)
+    private long refreshTokenReuseGrace = 10000L; // milliseconds, 사용 직후 같은 토큰 재제출은 재사용으로 보지 않음 (탭 여러 개 동시 갱신)
+    private long streamTokenExpiration = 60000L; // milliseconds, SSE 연결용 범위 한정 토큰 (연결할 때만 검증)
+
+    // 서명 알고리즘: HS256(공유 secret), ES256 / EdDSA(비대칭, 공개키는 /.well-known/jwks.json 으로 공개)
+    private String algorithm = "HS256";
 
+    // 키 로테이션
+    private String keyId = "default"; // 현재 서명 키 ID (kid 헤더)
+    private Map<String, String> previousKeys = new LinkedHashMap<>(); // HS256 검증 전용 이전 키 (kid -> secret)
+    private Map<String, AsymmetricKey> asymmetricKeys = new LinkedHashMap<>(); // ES256/EdDSA 키 (kid -> PEM 경로)
+    private String keyRingFile; // 키 링 파일 경로 (선택, 변경 시 재시작 없이 다시 읽음)
+    private long keyRingReloadInterval = 30000; // milliseconds
+    private long jwksMaxAge = 300; // seconds (JWKS 응답 Cache-Control)
+
+    @Getter
+    @Setter
+    public static class AsymmetricKey {
+        private String privateKeyLocation; // PKCS#8 PEM (없으면 검증 전용)
+        private String publicKeyLocation;  // X.509 SubjectPublicKeyInfo PEM
+    }
+}
@@ -0,0 +1,46 @@
+package com.kabb.bloodbank.config;
+
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import com.kabb.bloodbank.storage.SegmentLicenseBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class LicenseStorageConfig {
+
+    /**
+     * 면허증 저장소 (file.upload.license-store)
+     * - content-addressed(기본): 내용 해시를 파일명으로 써서 같은 파일은 한 번만 저장
+     * - uuid: 업로드마다 새 파일 (기존 방식)
+     * - segment: 내용 주소 + 작은 파일들을 큰 세그먼트 파일에 이어 붙여 저장 (inode/백업 부담 감소)
+     * 디렉토리 구조 (file.upload.license-layout)
+     * - fan-out(기본): 파일명 앞 4글자로 ab/cd/ 하위 디렉토리에 분산
+     * - flat: 한 디렉토리에 모두 저장 (기존 방식)
+     * 기존 파일은 License.filePath로 계속 읽히며, 관리자 이전 작업으로 새 구조로 옮길 수 있음
+     */
+    @Bean
+    public LicenseBlobStore licenseBlobStore(
+            @Value("${file.upload.license-dir}") String licenseUploadDir,
+            @Value("${file.upload.license-store:content-addressed}") String storeType,
+            @Value("${file.upload.license-layout:fan-out}") String layout,
+            @Value("${file.segment.max-bytes:268435456}") long maxSegmentBytes,
+            @Value("${file.segment.compaction-garbage-ratio:0.5}") double compactionGarbageRatio) throws IOException {
+        boolean fanOut = switch (layout) {
+            case "fan-out" -> true;
+            case "flat" -> false;
+            default -> throw new IllegalStateException("Unknown file.upload.license-layout: " + layout);
+        };
+        return switch (storeType) {
+            case "content-addressed" -> new FileSystemLicenseBlobStore(Paths.get(licenseUploadDir), true, fanOut);
+            case "uuid" -> new FileSystemLicenseBlobStore(Paths.get(licenseUploadDir), false, fanOut);
+            case "segment" -> new SegmentLicenseBlobStore(Paths.get(licenseUploadDir), maxSegmentBytes,
+                    compactionGarbageRatio);
+            default -> throw new IllegalStateException("Unknown file.upload.license-store: " + storeType);
+        };
+    }
+}
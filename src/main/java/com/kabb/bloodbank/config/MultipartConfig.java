@@ -0,0 +1,23 @@
+package com.kabb.bloodbank.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+@Configuration
+public class MultipartConfig {
+
+    /**
+     * 멀티파트 본문을 파트에 처음 접근할 때 파싱 (lazy)
+     * - @ModelAttribute 바인딩을 쓰는 기존 엔드포인트는 그대로 동작
+     * - 스트리밍 업로드 엔드포인트는 파트에 접근하지 않으므로 원본 본문을 직접 읽을 수 있음
+     */
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public MultipartResolver multipartResolver() {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver();
+        resolver.setResolveLazily(true);
+        return resolver;
+    }
+}
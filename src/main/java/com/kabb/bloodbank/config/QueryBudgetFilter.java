@@ -0,0 +1,75 @@
+package com.kabb.bloodbank.config;
+
+import com.kabb.bloodbank.util.QueryCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청별 JDBC 문 수 예산 검사
+ * - 보안 필터까지 포함해 요청 전체에서 실행된 문 수를 세고, 예산을 넘으면 경고 로그 (log-sample-rate 비율만 기록)
+ * - 요청당 문 수 분포와 예산 초과 횟수는 항상 메트릭으로 기록 (db.statements.per.request, db.statements.budget.exceeded)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxStatements;
+    private final double logSampleRate;
+    private final DistributionSummary statementsPerRequest;
+    private final Counter budgetExceeded;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry,
+                             @Value("${query.budget.enabled:true}") boolean enabled,
+                             @Value("${query.budget.max-statements:20}") int maxStatements,
+                             @Value("${query.budget.log-sample-rate:0.1}") double logSampleRate) {
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.logSampleRate = logSampleRate;
+        this.statementsPerRequest = DistributionSummary.builder("db.statements.per.request")
+                .description("JDBC statements prepared while handling one HTTP request")
+                .register(meterRegistry);
+        this.budgetExceeded = Counter.builder("db.statements.budget.exceeded")
+                .description("Requests that prepared more statements than query.budget.max-statements")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = scope.count();
+            statementsPerRequest.record(statements);
+            if (statements > maxStatements) {
+                budgetExceeded.increment();
+                if (ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                    log.warn("Query budget exceeded: {} {} prepared {} statements (budget {})",
+                            request.getMethod(), request.getRequestURI(), statements, maxStatements);
+                }
+            }
+        }
+    }
+}
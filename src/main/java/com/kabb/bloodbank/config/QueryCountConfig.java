@@ -0,0 +1,19 @@
+package com.kabb.bloodbank.config;
+
+import com.kabb.bloodbank.util.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryCountConfig {
+
+    /**
+     * 모든 Hibernate 세션의 JDBC 문 수를 QueryCounter로 집계 (요청별 쿼리 예산 검사, 테스트의 쿼리 수 검증)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
@@ -1,15 +1,34 @@
 package com.kabb.bloodbank.controller;
 
+import com.kabb.bloodbank.dto.request.LicenseDecisionRequest;
 import com.kabb.bloodbank.dto.response.ApiResponse;
+import com.kabb.bloodbank.dto.response.CursorPageResponse;
 import com.kabb.bloodbank.dto.response.LicenseApprovalResponse;
+import com.kabb.bloodbank.dto.response.LicenseDecisionResult;
+import com.kabb.bloodbank.dto.response.LicenseFileCleanupReport;
+import com.kabb.bloodbank.dto.response.LicenseFileMigrationStatus;
+import com.kabb.bloodbank.security.JwtPrincipal;
 import com.kabb.bloodbank.service.LicenseApprovalService;
+import com.kabb.bloodbank.service.LicenseFileCleanupService;
+import com.kabb.bloodbank.service.LicenseFileDownloadService;
+import com.kabb.bloodbank.service.LicenseFileMigrationService;
+import com.kabb.bloodbank.service.LicenseReviewEventService;
+import com.kabb.bloodbank.service.UserService;
+import com.kabb.bloodbank.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -18,14 +37,116 @@ import java.util.Map;
 public class AdminController {
 
     private final LicenseApprovalService licenseApprovalService;
+    private final UserService userService;
+    private final LicenseFileMigrationService licenseFileMigrationService;
+    private final LicenseFileDownloadService licenseFileDownloadService;
+    private final LicenseFileCleanupService licenseFileCleanupService;
+    private final LicenseReviewEventService licenseReviewEventService;
+    private final JwtUtil jwtUtil;
 
     /**
-     * 승인 대기 면허증 목록 조회
+     * 면허증 심사 이벤트 스트림 연결용 토큰 발급 (Authorization 헤더로 인증된 관리자)
+     * - 브라우저 EventSource는 헤더를 보낼 수 없으므로 /licenses/events?stream_token=... 으로 연결
+     * - 연결할 때만 검증하며 수명이 짧으므로(jwt.stream-token-expiration), EventSource가 오류로 닫히면
+     *   새 토큰을 받아 lastEventId와 함께 다시 연결
+     */
+    @PostMapping("/licenses/events/token")
+    public ResponseEntity<ApiResponse<Map<String, String>>> issueLicenseEventsToken(Authentication authentication) {
+        if (authentication == null || !(authentication.getDetails() instanceof JwtPrincipal principal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("인증이 필요합니다"));
+        }
+        String token = jwtUtil.generateScopedToken(principal.getUserId(), principal.getEmail(), principal.getRole(),
+                JwtUtil.LICENSE_EVENTS_SCOPE);
+        return ResponseEntity.ok(ApiResponse.success(Map.of("streamToken", token)));
+    }
+
+    /**
+     * 면허증 심사 이벤트 스트림 (SSE)
+     * - event: license (data: licenseId, userId, approvalStatus), event: reset (목록을 새로 조회해야 함)
+     * - 재연결 시 EventSource가 보내는 Last-Event-ID 이후 이벤트부터 이어서 전송
+     *   (새 EventSource로 다시 연결할 때는 헤더 대신 lastEventId 파라미터)
+     */
+    @GetMapping(value = "/licenses/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLicenseEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        return licenseReviewEventService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+
+    /**
+     * 승인 대기 면허증 목록 조회 (커서 페이지)
+     * - sort: oldest(기본, 오래된 순) / newest(최근 순)
+     * - 다음 페이지는 응답의 nextCursor를 cursor로 전달 (같은 sort/필터 유지)
      */
     @GetMapping("/licenses/pending")
-    public ResponseEntity<ApiResponse<List<LicenseApprovalResponse>>> getPendingLicenses() {
-        List<LicenseApprovalResponse> licenses = licenseApprovalService.getPendingLicenses();
-        return ResponseEntity.ok(ApiResponse.success(licenses));
+    public ResponseEntity<ApiResponse<CursorPageResponse<LicenseApprovalResponse>>> getPendingLicenses(
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "oldest") String sort,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime submittedAfter,
+            @RequestParam(required = false) String hospitalPrefix) {
+        try {
+            if (!sort.equals("oldest") && !sort.equals("newest")) {
+                throw new IllegalArgumentException("sort는 oldest 또는 newest여야 합니다");
+            }
+            CursorPageResponse<LicenseApprovalResponse> page = licenseApprovalService.getPendingLicenses(
+                    size, cursor, sort.equals("newest"), submittedAfter, hospitalPrefix);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 면허증 파일 조회 (미리보기/다운로드, Range 및 ETag 지원)
+     * - 성공 시 본문은 서비스가 직접 전송하므로 null 반환
+     */
+    @GetMapping("/licenses/{licenseId}/file")
+    public ResponseEntity<ApiResponse<Void>> getLicenseFile(
+            @PathVariable Long licenseId,
+            @RequestParam Long adminId,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        try {
+            licenseFileDownloadService.sendLicenseFile(licenseId, adminId, request, response);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                return null; // 전송 중 클라이언트가 연결을 끊은 경우 등
+            }
+            response.reset();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("파일 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 면허증 썸네일 조회 (승인 대기 목록용)
+     */
+    @GetMapping("/licenses/{licenseId}/thumbnail")
+    public ResponseEntity<ApiResponse<Void>> getLicenseThumbnail(
+            @PathVariable Long licenseId,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        try {
+            licenseFileDownloadService.sendThumbnail(licenseId, request, response);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                return null;
+            }
+            response.reset();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("썸네일 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
     }
 
     /**
@@ -74,5 +195,129 @@ public class AdminController {
                     .body(ApiResponse.error("거절 처리 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
-}
 
+    /**
+     * 면허증 일괄 승인/거절
+     * - 항목별 결과(APPROVED/REJECTED)와 거절 사유를 받아 청크 단위 트랜잭션으로 처리하고 항목별 성공 여부를 반환
+     */
+    @PostMapping("/licenses/decisions")
+    public ResponseEntity<ApiResponse<LicenseDecisionResult>> decideLicenses(
+            @RequestParam Long adminId,
+            @Valid @RequestBody LicenseDecisionRequest decisionRequest,
+            HttpServletRequest request) {
+        try {
+            LicenseDecisionResult result = licenseApprovalService.decideLicenses(
+                    decisionRequest.getItems(), adminId, request);
+            return ResponseEntity.ok(ApiResponse.success(
+                    result.getSucceeded() + "건 처리, " + result.getFailed() + "건 실패", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 처리 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 사용자 전체 세션 폐기 (토큰 유출 시)
+     */
+    @PostMapping("/users/{userId}/revoke-sessions")
+    public ResponseEntity<ApiResponse<Void>> revokeUserSessions(
+            @PathVariable Long userId,
+            @RequestParam Long adminId,
+            HttpServletRequest request) {
+        try {
+            userService.revokeAllSessions(userId, adminId, request);
+            return ResponseEntity.ok(ApiResponse.success("사용자의 모든 세션이 폐기되었습니다", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("세션 폐기 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 사용자 계정 비활성화
+     */
+    @PostMapping("/users/{userId}/deactivate")
+    public ResponseEntity<ApiResponse<Void>> deactivateUser(
+            @PathVariable Long userId,
+            @RequestParam Long adminId,
+            HttpServletRequest request) {
+        try {
+            userService.deactivateUser(userId, adminId, request);
+            return ResponseEntity.ok(ApiResponse.success("사용자 계정이 비활성화되었습니다", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            // 읽은 뒤 승인/거절 등으로 사용자가 바뀜
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("다른 요청이 사용자 정보를 먼저 변경했습니다. 다시 시도해주세요"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("계정 비활성화 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 면허증 파일을 현재 디렉토리 구조로 이전 시작 (서비스 운영 중 실행 가능, 중단 후 fromId로 재개)
+     */
+    @PostMapping("/storage/license-files/migrate")
+    public ResponseEntity<ApiResponse<LicenseFileMigrationStatus>> migrateLicenseFiles(
+            @RequestParam Long adminId,
+            @RequestParam(defaultValue = "0") long fromId,
+            @RequestParam(defaultValue = "500") int batchSize,
+            @RequestParam(defaultValue = "4") int parallelism) {
+        try {
+            LicenseFileMigrationStatus status = licenseFileMigrationService.start(fromId, batchSize, parallelism);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("면허증 파일 이전을 시작했습니다", status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("파일 이전 시작 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 면허증 파일 이전 진행 상황 조회
+     */
+    @GetMapping("/storage/license-files/migrate")
+    public ResponseEntity<ApiResponse<LicenseFileMigrationStatus>> getLicenseFileMigrationStatus() {
+        return ResponseEntity.ok(ApiResponse.success(licenseFileMigrationService.getStatus()));
+    }
+
+    /**
+     * 고아 면허증 파일 정리 (기본은 삭제 없이 대상만 집계하는 dry-run)
+     */
+    @PostMapping("/storage/license-files/cleanup")
+    public ResponseEntity<ApiResponse<LicenseFileCleanupReport>> cleanupLicenseFiles(
+            @RequestParam Long adminId,
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        try {
+            LicenseFileCleanupReport report = licenseFileCleanupService.run(dryRun);
+            return ResponseEntity.ok(ApiResponse.success(
+                    dryRun ? "정리 대상을 집계했습니다" : "고아 파일을 정리했습니다", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("파일 정리 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 마지막 고아 파일 정리 결과 조회
+     */
+    @GetMapping("/storage/license-files/cleanup")
+    public ResponseEntity<ApiResponse<LicenseFileCleanupReport>> getLicenseFileCleanupReport() {
+        return licenseFileCleanupService.getLastReport()
+                .map(report -> ResponseEntity.ok(ApiResponse.success(report)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("아직 실행된 정리 작업이 없습니다")));
+    }
+}
@@ -1,24 +1,33 @@
 package com.kabb.bloodbank.controller;
 
 import com.kabb.bloodbank.dto.request.LoginRequest;
+import com.kabb.bloodbank.dto.request.RefreshTokenRequest;
 import com.kabb.bloodbank.dto.request.SignUpRequest;
 import com.kabb.bloodbank.dto.response.ApiResponse;
 import com.kabb.bloodbank.dto.response.LoginResponse;
 import com.kabb.bloodbank.dto.response.SignUpResponse;
+import com.kabb.bloodbank.exception.TooManyRequestsException;
+import com.kabb.bloodbank.security.JwtPrincipal;
+import com.kabb.bloodbank.service.StreamingSignUpService;
 import com.kabb.bloodbank.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final UserService userService;
+    private final StreamingSignUpService streamingSignUpService;
 
     /**
      * 회원가입
@@ -34,6 +43,31 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (TooManyRequestsException e) {
+            throw e; // 429 + Retry-After는 GlobalExceptionHandler에서
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("회원가입 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 회원가입 (스트리밍 업로드: 면허증 파일을 임시 파일 없이 저장 위치에 한 번만 기록)
+     */
+    @PostMapping(value = "/signup/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<SignUpResponse>> signUpStream(HttpServletRequest httpRequest) {
+        try {
+            SignUpResponse response = streamingSignUpService.signUp(httpRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("회원가입이 완료되었습니다", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (TooManyRequestsException e) {
+            throw e; // 429 + Retry-After는 GlobalExceptionHandler에서
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("업로드 요청을 읽을 수 없습니다: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("회원가입 중 오류가 발생했습니다: " + e.getMessage()));
@@ -53,10 +87,71 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (TooManyRequestsException e) {
+            throw e; // 429 + Retry-After는 GlobalExceptionHandler에서
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("로그인 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
-}
 
+    /**
+     * 액세스 토큰 재발급 (리프레시 토큰 로테이션)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(
+            @Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            LoginResponse response = userService.refresh(request);
+            return ResponseEntity.ok(ApiResponse.success("토큰 재발급 성공", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("토큰 재발급 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 로그아웃 (현재 토큰과 요청에 포함된 리프레시 토큰 폐기)
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            Authentication authentication,
+            @RequestBody(required = false) RefreshTokenRequest request,
+            HttpServletRequest httpRequest) {
+        return handleLogout(authentication, request, false, httpRequest);
+    }
+
+    /**
+     * 모든 세션 로그아웃 (사용자의 모든 토큰 폐기)
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponse<Void>> logoutAll(
+            Authentication authentication,
+            @RequestBody(required = false) RefreshTokenRequest request,
+            HttpServletRequest httpRequest) {
+        return handleLogout(authentication, request, true, httpRequest);
+    }
+
+    private ResponseEntity<ApiResponse<Void>> handleLogout(
+            Authentication authentication,
+            RefreshTokenRequest request,
+            boolean allSessions,
+            HttpServletRequest httpRequest) {
+        if (authentication == null || !(authentication.getDetails() instanceof JwtPrincipal principal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("인증이 필요합니다"));
+        }
+
+        try {
+            String refreshToken = request != null ? request.getRefreshToken() : null;
+            userService.logout(principal, refreshToken, allSessions, httpRequest);
+            return ResponseEntity.ok(ApiResponse.success("로그아웃되었습니다", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("로그아웃 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+}
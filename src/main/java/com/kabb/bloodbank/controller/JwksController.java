@@ -0,0 +1,46 @@
+package com.kabb.bloodbank.controller;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 검증용 공개키 목록 (JWKS, RFC 7517)
+ * 다른 서비스가 캐시해 두고 KABB 토큰을 로컬에서 검증할 수 있도록 ApiResponse로 감싸지 않는다
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtProperties jwtProperties;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks(WebRequest webRequest) {
+        String eTag = jwtKeyRing.getJwksETag();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwtProperties.getJwksMaxAge())).cachePublic();
+
+        // If-None-Match가 일치하면 304 (본문 없음)
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(304)
+                    .cacheControl(cacheControl)
+                    .eTag(eTag)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .body(Map.of("keys", jwtKeyRing.getPublicJwks()));
+    }
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Agreement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agreements_seq")
+    @SequenceGenerator(name = "agreements_seq", sequenceName = "agreements_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
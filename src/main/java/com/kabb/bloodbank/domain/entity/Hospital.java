@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Hospital {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hospitals_seq")
+    @SequenceGenerator(name = "hospitals_seq", sequenceName = "hospitals_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -10,7 +10,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "licenses")
+@Table(name = "licenses", indexes = {
+        @Index(name = "idx_licenses_stored_file_name", columnList = "storedFileName"),
+        @Index(name = "idx_licenses_staged_file_name", columnList = "stagedFileName"),
+        @Index(name = "idx_licenses_status_created_at_id", columnList = "approvalStatus, createdAt, id") // 승인 대기 목록 키셋 페이지
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +24,8 @@ import java.time.LocalDateTime;
 public class License {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "licenses_seq")
+    @SequenceGenerator(name = "licenses_seq", sequenceName = "licenses_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -42,6 +47,12 @@ public class License {
     @Column(nullable = false)
     private String contentType; // 파일 타입 (image/jpeg, application/pdf 등)
 
+    @Column(length = 64)
+    private String contentHash; // 파일 내용 SHA-256 (hex)
+
+    @Column(length = 100)
+    private String stagedFileName; // 가입 시 .staging 아래 임시 파일명 (커밋 후 promote가 실패하면 정리 작업이 이어서 이동)
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -63,5 +74,8 @@ public class License {
     @LastModifiedDate
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    @Version
+    private long version; // 낙관적 잠금 (JPQL 벌크 UPDATE도 함께 올림)
 }
 
@@ -0,0 +1,48 @@
+package com.kabb.bloodbank.domain.entity;
+
+import com.kabb.bloodbank.domain.enums.RevocationScope;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocations_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_token_revocations_created_at", columnList = "createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RevocationScope scope;
+
+    @Column(unique = true, length = 64)
+    private String jti; // 폐기된 토큰 ID (TOKEN 범위)
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column
+    private LocalDateTime revokedBefore; // 이 시점 이전에 발급된 토큰 모두 폐기 (USER 범위)
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; // 이 시점 이후에는 해당 토큰이 모두 만료되므로 정리 대상
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.kabb.bloodbank.domain.enums;
+
+public enum RevocationScope {
+    TOKEN,     // 단일 토큰 (jti)
+    USER       // 사용자의 모든 세션
+}
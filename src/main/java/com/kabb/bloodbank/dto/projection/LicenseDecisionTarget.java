@@ -0,0 +1,18 @@
+package com.kabb.bloodbank.dto.projection;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 승인/거절 대상 확인용 프로젝션 (상태 검사와 사용자 갱신, 인증 캐시 무효화에 필요한 값만)
+ */
+@Getter
+@AllArgsConstructor
+public class LicenseDecisionTarget {
+
+    private final Long licenseId;
+    private final Long userId;
+    private final String email;
+    private final ApprovalStatus approvalStatus;
+}
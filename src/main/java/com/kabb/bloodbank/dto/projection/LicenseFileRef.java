@@ -0,0 +1,16 @@
+package com.kabb.bloodbank.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 면허증 파일 위치만 담은 조회 전용 프로젝션 (저장 구조 이전 등 파일 작업용)
+ */
+@Getter
+@AllArgsConstructor
+public class LicenseFileRef {
+
+    private final Long id;
+    private final String storedFileName;
+    private final String filePath;
+}
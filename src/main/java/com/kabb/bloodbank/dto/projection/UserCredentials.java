@@ -0,0 +1,22 @@
+package com.kabb.bloodbank.dto.projection;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.domain.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 로그인 인증에 필요한 컬럼만 담은 조회 전용 프로젝션 (연관 엔티티 로딩 없음)
+ */
+@Getter
+@AllArgsConstructor
+public class UserCredentials {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String password; // 비밀번호 해시
+    private final UserRole role;
+    private final Boolean active;
+    private final ApprovalStatus approvalStatus;
+}
@@ -0,0 +1,38 @@
+package com.kabb.bloodbank.dto.request;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenseDecisionRequest {
+    @NotEmpty(message = "처리할 면허증을 입력해주세요")
+    @Size(max = 10000, message = "한 번에 최대 10000건까지 처리할 수 있습니다")
+    @Valid
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull(message = "면허증 ID는 필수입니다")
+        private Long licenseId;
+
+        @NotNull(message = "처리 결과는 필수입니다")
+        private ApprovalStatus decision; // APPROVED 또는 REJECTED
+
+        private String reason; // 거절 사유 (거절 시 필수)
+    }
+}
@@ -1,5 +1,6 @@
 package com.kabb.bloodbank.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,5 +21,34 @@ public class LicenseApprovalResponse {
     private ApprovalStatus approvalStatus;
     private String rejectionReason;
     private LocalDateTime approvedAt;
-}
+    private String thumbnailUrl; // 썸네일이 아직 없으면 null
+    private LocalDateTime submittedAt; // 면허증 제출 시각 (License.createdAt)
+
+    // 썸네일 생성 요청용 (응답에는 포함하지 않음)
+    @JsonIgnore
+    private String storedFileName;
+    @JsonIgnore
+    private String filePath;
+    @JsonIgnore
+    private String contentType;
 
+    /**
+     * 목록 조회 프로젝션용 (LicenseRepository JPQL 생성자 표현식, thumbnailUrl은 조회 후 채움)
+     */
+    public LicenseApprovalResponse(Long licenseId, Long userId, String userName, String hospitalName,
+                                   ApprovalStatus approvalStatus, String rejectionReason, LocalDateTime approvedAt,
+                                   LocalDateTime submittedAt, String storedFileName, String filePath,
+                                   String contentType) {
+        this.licenseId = licenseId;
+        this.userId = userId;
+        this.userName = userName;
+        this.hospitalName = hospitalName;
+        this.approvalStatus = approvalStatus;
+        this.rejectionReason = rejectionReason;
+        this.approvedAt = approvedAt;
+        this.submittedAt = submittedAt;
+        this.storedFileName = storedFileName;
+        this.filePath = filePath;
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kabb.bloodbank.dto.response;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenseDecisionResult {
+    private int succeeded;
+    private int failed;
+    private List<Item> results; // 요청 순서와 같음
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long licenseId;
+        private ApprovalStatus decision;
+        private boolean success;
+        private String message; // 실패 사유
+    }
+}
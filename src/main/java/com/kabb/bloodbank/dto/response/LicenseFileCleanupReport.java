@@ -0,0 +1,23 @@
+package com.kabb.bloodbank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenseFileCleanupReport {
+    private boolean dryRun; // true면 삭제하지 않고 대상만 집계
+    private long scanned;
+    private long orphaned; // 참조하는 License가 없고 유예 기간이 지난 항목
+    private long deleted;
+    private long failed;
+    private long bytesReclaimed; // dry-run이면 회수 예정 크기 (세그먼트 저장소는 다음 압축 때 실제 회수)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
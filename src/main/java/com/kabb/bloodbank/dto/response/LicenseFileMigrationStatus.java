@@ -0,0 +1,23 @@
+package com.kabb.bloodbank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenseFileMigrationStatus {
+    private boolean running;
+    private Long lastProcessedId; // 재시작 시 fromId로 넘기면 이어서 진행
+    private long scanned;
+    private long migrated;
+    private long skipped; // 이미 새 구조에 있는 행
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.kabb.bloodbank.dto.response;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LicenseReviewEvent {
+    private Long licenseId;
+    private Long userId;
+    private ApprovalStatus approvalStatus; // PENDING이면 새로 제출됨
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,17 @@
+package com.kabb.bloodbank.exception;
+
+import lombok.Getter;
+
+/**
+ * 과부하 또는 요청 제한으로 처리를 거부할 때 사용 (HTTP 429)
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds; // Retry-After 헤더 값
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
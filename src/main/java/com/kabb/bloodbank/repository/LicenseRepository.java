@@ -2,9 +2,18 @@ package com.kabb.bloodbank.repository;
 
 import com.kabb.bloodbank.domain.entity.License;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.projection.LicenseDecisionTarget;
+import com.kabb.bloodbank.dto.projection.LicenseFileRef;
+import com.kabb.bloodbank.dto.response.LicenseApprovalResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +22,85 @@ public interface LicenseRepository extends JpaRepository<License, Long> {
     Optional<License> findByUserId(Long userId);
     List<License> findByApprovalStatus(ApprovalStatus status);
     long countByApprovalStatus(ApprovalStatus status);
-}
 
+    // 승인/거절 처리용: 사용자와 병원을 같은 쿼리로 함께 로딩 (지연 로딩으로 인한 추가 조회 없음)
+    @Query("select l from License l join fetch l.user u left join fetch u.hospital where l.id = :id")
+    Optional<License> findWithUserAndHospitalById(@Param("id") Long id);
+    long countByStoredFileName(String storedFileName); // 내용 주소 저장소의 파일 참조 수
+    long countByStoredFileNameAndFilePath(String storedFileName, String filePath); // storedFileName 인덱스 사용
+
+    // 일괄 승인/거절: 대상 상태와 사용자 정보를 한 번에 조회
+    @Query("select new com.kabb.bloodbank.dto.projection.LicenseDecisionTarget(l.id, u.id, u.email, l.approvalStatus) "
+            + "from License l join l.user u where l.id in :ids")
+    List<LicenseDecisionTarget> findDecisionTargets(@Param("ids") Collection<Long> ids);
+
+    // 승인/거절 상태 전이: 아직 expected 상태인 행만 한 번의 UPDATE로 변경하고 변경된 행 수 반환
+    // (벌크 UPDATE이므로 updatedAt과 version도 직접 설정)
+    @Modifying
+    @Query("update License l set l.approvalStatus = :status, l.approvedBy = :adminId, l.approvedAt = :decidedAt, "
+            + "l.rejectionReason = :reason, l.updatedAt = :decidedAt, l.version = l.version + 1 "
+            + "where l.id in :ids and l.approvalStatus = :expected")
+    int updateDecision(@Param("ids") Collection<Long> ids,
+                       @Param("expected") ApprovalStatus expected,
+                       @Param("status") ApprovalStatus status,
+                       @Param("adminId") Long adminId,
+                       @Param("reason") String reason,
+                       @Param("decidedAt") LocalDateTime decidedAt);
+
+    // UPDATE 건수가 대상 수와 다를 때(동시 처리) 이번 처리로 바뀐 행 확인
+    @Query("select l.id from License l where l.id in :ids and l.approvalStatus = :status "
+            + "and l.approvedBy = :adminId and l.approvedAt = :decidedAt")
+    List<Long> findDecidedIds(@Param("ids") Collection<Long> ids,
+                              @Param("status") ApprovalStatus status,
+                              @Param("adminId") Long adminId,
+                              @Param("decidedAt") LocalDateTime decidedAt);
+
+    // 승인 목록 키셋 페이지 (제출 시각, id 순), 사용자/병원을 함께 조인해 한 번의 쿼리로 응답 DTO 생성
+    // hospitalPrefix는 LIKE 패턴 (빈 문자열이면 조건 없음, 백슬래시는 MariaDB 문자열 이스케이프와 겹치므로 '!'로 이스케이프)
+    @Query("select new com.kabb.bloodbank.dto.response.LicenseApprovalResponse(l.id, u.id, u.name, h.name, "
+            + "l.approvalStatus, l.rejectionReason, l.approvedAt, l.createdAt, l.storedFileName, l.filePath, l.contentType) "
+            + "from License l join l.user u left join u.hospital h "
+            + "where l.approvalStatus = :status and l.createdAt > :submittedAfter "
+            + "and (:hospitalPrefix = '' or h.name like :hospitalPrefix escape '!') "
+            + "and (l.createdAt > :afterCreatedAt or (l.createdAt = :afterCreatedAt and l.id > :afterId)) "
+            + "order by l.createdAt, l.id")
+    List<LicenseApprovalResponse> findApprovalPageAscending(@Param("status") ApprovalStatus status,
+                                                           @Param("submittedAfter") LocalDateTime submittedAfter,
+                                                           @Param("hospitalPrefix") String hospitalPrefix,
+                                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                           @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+
+    @Query("select new com.kabb.bloodbank.dto.response.LicenseApprovalResponse(l.id, u.id, u.name, h.name, "
+            + "l.approvalStatus, l.rejectionReason, l.approvedAt, l.createdAt, l.storedFileName, l.filePath, l.contentType) "
+            + "from License l join l.user u left join u.hospital h "
+            + "where l.approvalStatus = :status and l.createdAt > :submittedAfter "
+            + "and (:hospitalPrefix = '' or h.name like :hospitalPrefix escape '!') "
+            + "and (l.createdAt < :beforeCreatedAt or (l.createdAt = :beforeCreatedAt and l.id < :beforeId)) "
+            + "order by l.createdAt desc, l.id desc")
+    List<LicenseApprovalResponse> findApprovalPageDescending(@Param("status") ApprovalStatus status,
+                                                            @Param("submittedAfter") LocalDateTime submittedAfter,
+                                                            @Param("hospitalPrefix") String hospitalPrefix,
+                                                            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                            @Param("beforeId") Long beforeId,
+                                                            Pageable pageable);
+
+    // id 기준 키셋 페이지 (offset 없이 마지막 id 다음부터)
+    @Query("select new com.kabb.bloodbank.dto.projection.LicenseFileRef(l.id, l.storedFileName, l.filePath) "
+            + "from License l where l.id > :afterId order by l.id")
+    List<LicenseFileRef> findFileRefsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 고아 파일 정리: 여러 저장 파일명의 참조를 한 번에 조회
+    @Query("select new com.kabb.bloodbank.dto.projection.LicenseFileRef(l.id, l.storedFileName, l.filePath) "
+            + "from License l where l.storedFileName in :storedFileNames")
+    List<LicenseFileRef> findFileRefsByStoredFileNameIn(@Param("storedFileNames") Collection<String> storedFileNames);
+
+    // 고아 파일 정리: promote되지 못한 임시 파일을 참조하는 면허증
+    List<License> findByStagedFileNameIn(Collection<String> stagedFileNames);
+
+    // 이전 작업 중 다른 요청이 경로를 바꿨으면 갱신하지 않음
+    @Modifying
+    @Query("update License l set l.filePath = :newPath, l.version = l.version + 1 "
+            + "where l.id = :id and l.filePath = :oldPath")
+    int updateFilePath(@Param("id") Long id, @Param("oldPath") String oldPath, @Param("newPath") String newPath);
+}
@@ -0,0 +1,24 @@
+package com.kabb.bloodbank.repository;
+
+import com.kabb.bloodbank.domain.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    boolean existsByJti(String jti);
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+    List<TokenRevocation> findByCreatedAtAfter(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
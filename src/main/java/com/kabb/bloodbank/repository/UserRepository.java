@@ -2,9 +2,16 @@ package com.kabb.bloodbank.repository;
 
 import com.kabb.bloodbank.domain.entity.User;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.projection.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +19,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     long countByApprovalStatus(ApprovalStatus status);
-}
 
+    /**
+     * 로그인용 인증 정보 조회 (users 테이블 단일 조회, 조인 없음)
+     */
+    @Query("select new com.kabb.bloodbank.dto.projection.UserCredentials(" +
+            "u.id, u.email, u.name, u.password, u.role, u.active, u.approvalStatus) " +
+            "from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * 비밀번호 해시 교체 (그 사이 비밀번호가 바뀌지 않은 경우에만)
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword, u.version = u.version + 1 "
+            + "where u.id = :userId and u.password = :oldPassword")
+    int updatePassword(@Param("userId") Long userId,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
+
+    /**
+     * 승인 상태 변경 (면허증 승인/거절, 호출하는 쪽 트랜잭션 안에서)
+     * - version을 올려 같은 사용자를 먼저 읽어 둔 다른 저장이 이 변경을 덮어쓰지 못하게 함
+     */
+    @Modifying
+    @Query("update User u set u.approvalStatus = :status, u.updatedAt = :updatedAt, u.version = u.version + 1 "
+            + "where u.id in :ids")
+    int updateApprovalStatus(@Param("ids") Collection<Long> ids,
+                             @Param("status") ApprovalStatus status,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 면허증 주인의 승인 상태 변경 (면허증 단건 승인/거절, 사용자를 먼저 읽지 않음)
+     */
+    @Modifying
+    @Query("update User u set u.approvalStatus = :status, u.updatedAt = :updatedAt, u.version = u.version + 1 "
+            + "where u.id = (select l.user.id from License l where l.id = :licenseId)")
+    int updateApprovalStatusByLicenseId(@Param("licenseId") Long licenseId,
+                                        @Param("status") ApprovalStatus status,
+                                        @Param("updatedAt") LocalDateTime updatedAt);
+}
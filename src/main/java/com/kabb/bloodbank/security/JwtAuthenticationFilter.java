@@ -1,5 +1,6 @@
 package com.kabb.bloodbank.security;
 
+import com.kabb.bloodbank.service.TokenRevocationService;
 import com.kabb.bloodbank.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,7 +20,13 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource는 헤더를 보낼 수 없으므로 이 경로에서만 쿼리 파라미터의 스트림 전용 토큰을 받음
+    static final String LICENSE_EVENTS_PATH = "/api/admin/licenses/events";
+    static final String STREAM_TOKEN_PARAM = "stream_token";
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -27,23 +34,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (token != null && jwtUtil.validateToken(token)) {
-            String role = jwtUtil.getRoleFromToken(token);
-            String email = jwtUtil.getEmailFromToken(token);
-            Long userId = jwtUtil.getUserIdFromToken(token);
-
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    String.valueOf(userId),
-                    null,
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            // 캐시에 검증 결과가 있으면 서명 검증 생략, 없으면 한 번의 파싱으로 검증/추출
+            // 폐기(로그아웃)된 토큰은 인증하지 않음
+            verifiedTokenCache.getOrVerify(token, jwtUtil::parseToken)
+                    .filter(principal -> !tokenRevocationService.isRevoked(principal))
+                    .ifPresent(this::setAuthentication);
+        } else if (isLicenseEventStream(request)) {
+            jwtUtil.parseScopedToken(request.getParameter(STREAM_TOKEN_PARAM), JwtUtil.LICENSE_EVENTS_SCOPE)
+                    .filter(principal -> !tokenRevocationService.isRevoked(principal))
+                    .ifPresent(this::setAuthentication);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 인증 정보 설정 (details에 토큰 정보를 담아 로그아웃 등에서 사용)
+     */
+    private void setAuthentication(JwtPrincipal principal) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                String.valueOf(principal.getUserId()),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.getRole()))
+        );
+        authentication.setDetails(principal);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private static boolean isLicenseEventStream(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && request.getRequestURI().equals(request.getContextPath() + LICENSE_EVENTS_PATH);
+    }
+
     /**
      * 요청에서 JWT 토큰 추출
      */
@@ -55,4 +79,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
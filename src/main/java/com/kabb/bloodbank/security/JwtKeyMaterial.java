@@ -0,0 +1,149 @@
+package com.kabb.bloodbank.security;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 비대칭 JWT 키 읽기/생성 및 JWK 변환 (ES256, EdDSA)
+ */
+public final class JwtKeyMaterial {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    // Ed25519 SubjectPublicKeyInfo 인코딩의 고정 접두부 길이 (뒤 32바이트가 공개키)
+    private static final int ED25519_SPKI_PREFIX_LENGTH = 12;
+    private static final int ED25519_KEY_LENGTH = 32;
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    private JwtKeyMaterial() {
+    }
+
+    /**
+     * 설정값을 표준 알고리즘 이름으로 정규화
+     */
+    public static String normalizeAlgorithm(String algorithm) {
+        if (algorithm == null || algorithm.isBlank()) {
+            return HS256;
+        }
+        switch (algorithm.trim().toUpperCase(Locale.ROOT)) {
+            case "HS256":
+                return HS256;
+            case "ES256":
+                return ES256;
+            case "EDDSA":
+            case "ED25519":
+                return EDDSA;
+            default:
+                throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        }
+    }
+
+    public static boolean isAsymmetric(String algorithm) {
+        return !HS256.equals(algorithm);
+    }
+
+    public static PrivateKey readPrivateKey(Path path, String algorithm) throws IOException, GeneralSecurityException {
+        byte[] der = decodePem(Files.readString(path, StandardCharsets.US_ASCII));
+        return keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+    }
+
+    public static PublicKey readPublicKey(Path path, String algorithm) throws IOException, GeneralSecurityException {
+        byte[] der = decodePem(Files.readString(path, StandardCharsets.US_ASCII));
+        return keyFactory(algorithm).generatePublic(new X509EncodedKeySpec(der));
+    }
+
+    /**
+     * 임시 키 쌍 생성 (키 파일이 설정되지 않은 개발 환경용)
+     */
+    public static KeyPair generateKeyPair(String algorithm) throws GeneralSecurityException {
+        if (ES256.equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        }
+        if (EDDSA.equals(algorithm)) {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        }
+        throw new IllegalArgumentException("Not an asymmetric JWT algorithm: " + algorithm);
+    }
+
+    /**
+     * 공개키를 JWK(RFC 7517) 형태로 변환
+     */
+    public static Map<String, Object> toPublicJwk(String keyId, String algorithm, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsigned(ecPublicKey.getW().getAffineX(), P256_COORDINATE_LENGTH)));
+            jwk.put("y", base64Url(unsigned(ecPublicKey.getW().getAffineY(), P256_COORDINATE_LENGTH)));
+        } else if (EDDSA.equals(algorithm)) {
+            byte[] encoded = publicKey.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, ED25519_SPKI_PREFIX_LENGTH,
+                    ED25519_SPKI_PREFIX_LENGTH + ED25519_KEY_LENGTH)));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + publicKey.getAlgorithm());
+        }
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        jwk.put("kid", keyId);
+        return jwk;
+    }
+
+    private static KeyFactory keyFactory(String algorithm) throws GeneralSecurityException {
+        if (ES256.equals(algorithm)) {
+            return KeyFactory.getInstance("EC");
+        }
+        if (EDDSA.equals(algorithm)) {
+            return KeyFactory.getInstance("Ed25519");
+        }
+        throw new IllegalArgumentException("Not an asymmetric JWT algorithm: " + algorithm);
+    }
+
+    private static byte[] decodePem(String pem) {
+        StringBuilder base64 = new StringBuilder();
+        for (String line : pem.split("\\R")) {
+            if (!line.startsWith("-----")) {
+                base64.append(line.trim());
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,448 @@
+package com.kabb.bloodbank.security;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * JWT 서명 키 링
+ * - 키는 시작 시(또는 키 링 파일 변경 시) 한 번만 생성
+ * - kid 헤더로 검증 키를 찾으므로 로테이션 중 여러 키가 동시에 유효
+ * - 파서는 불변/스레드 안전하므로 한 번 만들어 재사용
+ * - ES256/EdDSA 모드에서는 공개키를 JWKS로 제공하여 다른 서비스가 로컬에서 검증
+ * - 키 링 파일을 쓰면 rotate/retire 결과를 파일에 기록 (주기적 재로드로 되돌아가지 않고 재시작 후에도 유지)
+ *
+ * 키 링 파일 형식 (properties):
+ * <pre>
+ * active=2025-02
+ * # HS256: secret 값 / ES256, EdDSA: 개인키 PEM 경로
+ * key.2025-02=...
+ * key.2025-01=...
+ * # ES256, EdDSA 검증 전용 공개키 PEM 경로 (서명 키는 public.kid 필수)
+ * public.2025-02=...
+ * public.2025-01=...
+ * # application.properties에 설정된 키 중 더 이상 받지 않을 kid (쉼표 구분)
+ * retired=default
+ * </pre>
+ * rotate/retire가 파일을 다시 쓰므로 파일의 주석은 유지되지 않음
+ */
+@Slf4j
+@Component
+public class JwtKeyRing implements Locator<Key> {
+
+    private static final String ACTIVE_PROPERTY = "active";
+    private static final String KEY_PREFIX = "key.";
+    private static final String PUBLIC_PREFIX = "public.";
+    private static final String RETIRED_PROPERTY = "retired";
+
+    private final JwtProperties jwtProperties;
+    private final String algorithm;
+    private final AtomicReference<KeySnapshot> snapshot = new AtomicReference<>();
+    private final JwtParser parser;
+    private final List<Runnable> keyRemovalListeners = new CopyOnWriteArrayList<>();
+    private volatile long keyRingFileLastModified = -1L;
+    private KeyEntry ephemeralKey;
+
+    public JwtKeyRing(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.algorithm = JwtKeyMaterial.normalizeAlgorithm(jwtProperties.getAlgorithm());
+        this.snapshot.set(buildFromProperties());
+        reloadKeyRingFile();
+        KeySnapshot initial = snapshot.get();
+        if (!initial.keys.containsKey(initial.activeKeyId) || initial.keys.get(initial.activeKeyId).signingKey == null) {
+            throw new IllegalStateException("No JWT signing key configured for kid=" + initial.activeKeyId);
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(this)
+                .build();
+    }
+
+    /**
+     * 서명 알고리즘 (HS256, ES256, EdDSA)
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 현재 서명 키 ID
+     */
+    public String getActiveKeyId() {
+        return snapshot.get().activeKeyId;
+    }
+
+    /**
+     * 현재 서명 키 (HS256: SecretKey, ES256/EdDSA: PrivateKey)
+     */
+    public Key getActiveSigningKey() {
+        KeySnapshot current = snapshot.get();
+        return current.keys.get(current.activeKeyId).signingKey;
+    }
+
+    /**
+     * 재사용 가능한 검증용 파서
+     */
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    /**
+     * 공개 JWK 목록 (HS256 모드에서는 비어 있음)
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        return snapshot.get().publicJwks;
+    }
+
+    /**
+     * 공개 JWK 목록의 ETag
+     */
+    public String getJwksETag() {
+        return snapshot.get().jwksETag;
+    }
+
+    /**
+     * 검증 키가 제거될 때 호출할 리스너 등록 (검증 결과 캐시 무효화 등)
+     */
+    public void addKeyRemovalListener(Runnable listener) {
+        keyRemovalListeners.add(listener);
+    }
+
+    /**
+     * 새 HS256 키를 추가하고 서명 키로 전환 (기존 키는 검증용으로 유지)
+     * - 키 링 파일이 설정되어 있으면 파일에 기록한 뒤 반영 (설정이 없으면 이 프로세스에서만 유효)
+     */
+    public synchronized void rotate(String keyId, String secret) {
+        if (keyId == null || keyId.isBlank()) {
+            throw new IllegalArgumentException("키 ID는 필수입니다");
+        }
+        if (JwtKeyMaterial.isAsymmetric(algorithm)) {
+            throw new IllegalArgumentException("비대칭 서명 모드에서는 키 링 파일로 로테이션해야 합니다");
+        }
+        if (hasKeyRingFile()) {
+            updateKeyRingFile(properties -> {
+                properties.setProperty(KEY_PREFIX + keyId, secret);
+                properties.setProperty(ACTIVE_PROPERTY, keyId);
+                properties.setProperty(RETIRED_PROPERTY, String.join(",", retiredKeyIds(properties, keyId, false)));
+            });
+        } else {
+            snapshot.updateAndGet(current -> {
+                Map<String, KeyEntry> keys = new LinkedHashMap<>(current.keys);
+                keys.put(keyId, KeyEntry.hmac(secret));
+                return new KeySnapshot(keyId, keys, algorithm);
+            });
+        }
+        log.info("JWT signing key rotated: kid={}", keyId);
+    }
+
+    /**
+     * 검증 전용 키 제거
+     * - 키 링 파일이 설정되어 있으면 파일에서도 제거 (application.properties의 키는 retired에 기록)
+     */
+    public synchronized void retire(String keyId) {
+        if (keyId.equals(snapshot.get().activeKeyId)) {
+            throw new IllegalArgumentException("현재 서명 키는 제거할 수 없습니다");
+        }
+        if (hasKeyRingFile()) {
+            updateKeyRingFile(properties -> {
+                properties.remove(KEY_PREFIX + keyId);
+                properties.remove(PUBLIC_PREFIX + keyId);
+                properties.setProperty(RETIRED_PROPERTY, String.join(",", retiredKeyIds(properties, keyId, true)));
+            });
+        } else {
+            snapshot.updateAndGet(current -> {
+                Map<String, KeyEntry> keys = new LinkedHashMap<>(current.keys);
+                keys.remove(keyId);
+                return new KeySnapshot(current.activeKeyId, keys, algorithm);
+            });
+        }
+        log.info("JWT key retired: kid={}", keyId);
+        keyRemovalListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * kid 헤더로 검증 키 조회 (kid가 없는 기존 토큰은 jwt.key-id 키로 검증)
+     */
+    @Override
+    public Key locate(Header header) {
+        String keyId = null;
+        if (header instanceof ProtectedHeader protectedHeader) {
+            keyId = protectedHeader.getKeyId();
+        }
+        if (keyId == null) {
+            keyId = jwtProperties.getKeyId();
+        }
+
+        KeyEntry entry = snapshot.get().keys.get(keyId);
+        if (entry == null) {
+            throw new UnsupportedKeyException("Unknown JWT key id: " + keyId);
+        }
+        return entry.verificationKey;
+    }
+
+    /**
+     * 키 링 파일이 변경되었으면 다시 읽음
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-ring-reload-interval:30000}")
+    public synchronized void reloadKeyRingFile() {
+        if (!hasKeyRingFile()) {
+            return;
+        }
+
+        Path path = Paths.get(jwtProperties.getKeyRingFile());
+        try {
+            if (!Files.exists(path)) {
+                log.warn("JWT key ring file not found: {}", path);
+                return;
+            }
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (lastModified == keyRingFileLastModified) {
+                return;
+            }
+
+            Properties properties = readKeyRingFile(path);
+            KeySnapshot loaded = buildFromFile(properties);
+            KeySnapshot previous = snapshot.getAndSet(loaded);
+            keyRingFileLastModified = lastModified;
+            log.info("JWT key ring reloaded: active={}, keys={}", loaded.activeKeyId, loaded.keys.keySet());
+
+            if (previous != null && !loaded.keys.keySet().containsAll(previous.keys.keySet())) {
+                keyRemovalListeners.forEach(Runnable::run);
+            }
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // 잘못된 파일로 인해 기존 키가 사라지지 않도록 이전 스냅샷 유지
+            log.error("Failed to reload JWT key ring file: {}", path, e);
+        }
+    }
+
+    private boolean hasKeyRingFile() {
+        String keyRingFile = jwtProperties.getKeyRingFile();
+        return keyRingFile != null && !keyRingFile.isBlank();
+    }
+
+    private static Properties readKeyRingFile(Path path) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 키 링 파일을 고쳐 쓰고 같은 내용으로 스냅샷 교체
+     * - 새 내용으로 키를 만들 수 없으면 파일을 건드리지 않음
+     * - 임시 파일에 쓴 뒤 원자적으로 교체하여 재로드가 쓰다 만 파일을 읽지 않도록 함
+     */
+    private void updateKeyRingFile(Consumer<Properties> change) {
+        Path path = Paths.get(jwtProperties.getKeyRingFile()).toAbsolutePath();
+        try {
+            Properties properties = readKeyRingFile(path);
+            change.accept(properties);
+            KeySnapshot updated = buildFromFile(properties);
+
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    properties.store(writer, "JWT key ring");
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            snapshot.set(updated);
+            keyRingFileLastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to update JWT key ring file: " + path, e);
+        }
+    }
+
+    /**
+     * retired 목록에 keyId를 추가(retire) 또는 제거(rotate로 다시 사용)
+     */
+    private static Set<String> retiredKeyIds(Properties properties, String keyId, boolean retired) {
+        Set<String> keyIds = new LinkedHashSet<>();
+        for (String value : properties.getProperty(RETIRED_PROPERTY, "").split(",")) {
+            if (!value.isBlank()) {
+                keyIds.add(value.trim());
+            }
+        }
+        if (retired) {
+            keyIds.add(keyId);
+        } else {
+            keyIds.remove(keyId);
+        }
+        return keyIds;
+    }
+
+    private KeySnapshot buildFromProperties() {
+        return new KeySnapshot(jwtProperties.getKeyId(), configuredKeys(), algorithm);
+    }
+
+    /**
+     * application.properties에 설정된 키
+     */
+    private Map<String, KeyEntry> configuredKeys() {
+        Map<String, KeyEntry> keys = new LinkedHashMap<>();
+        if (!JwtKeyMaterial.isAsymmetric(algorithm)) {
+            if (jwtProperties.getSecret() != null) {
+                keys.put(jwtProperties.getKeyId(), KeyEntry.hmac(jwtProperties.getSecret()));
+            }
+            jwtProperties.getPreviousKeys().forEach((keyId, secret) -> keys.putIfAbsent(keyId, KeyEntry.hmac(secret)));
+            return keys;
+        }
+
+        try {
+            for (Map.Entry<String, JwtProperties.AsymmetricKey> configured : jwtProperties.getAsymmetricKeys().entrySet()) {
+                JwtProperties.AsymmetricKey key = configured.getValue();
+                keys.put(configured.getKey(), KeyEntry.asymmetric(key.getPrivateKeyLocation(), key.getPublicKeyLocation(), algorithm));
+            }
+            if (!keys.containsKey(jwtProperties.getKeyId()) && !hasKeyRingFile()) {
+                keys.put(jwtProperties.getKeyId(), ephemeralKey());
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load JWT " + algorithm + " keys", e);
+        }
+        return keys;
+    }
+
+    /**
+     * 키 파일이 없을 때 사용할 임시 키 쌍 (프로세스당 한 번 생성)
+     * 재시작하면 기존 토큰이 무효화되고 노드마다 키가 다르므로 개발 환경에서만 사용
+     */
+    private synchronized KeyEntry ephemeralKey() throws GeneralSecurityException {
+        if (ephemeralKey == null) {
+            log.warn("No {} key configured for kid={}, generating an ephemeral key pair", algorithm, jwtProperties.getKeyId());
+            KeyPair keyPair = JwtKeyMaterial.generateKeyPair(algorithm);
+            ephemeralKey = new KeyEntry(keyPair.getPrivate(), keyPair.getPublic(), keyPair.getPublic());
+        }
+        return ephemeralKey;
+    }
+
+    private KeySnapshot buildFromFile(Properties properties) throws IOException, GeneralSecurityException {
+        Map<String, KeyEntry> keys = configuredKeys();
+        for (String name : properties.stringPropertyNames()) {
+            if (!JwtKeyMaterial.isAsymmetric(algorithm)) {
+                if (name.startsWith(KEY_PREFIX)) {
+                    keys.put(name.substring(KEY_PREFIX.length()), KeyEntry.hmac(properties.getProperty(name)));
+                }
+            } else if (name.startsWith(PUBLIC_PREFIX)) {
+                String keyId = name.substring(PUBLIC_PREFIX.length());
+                String privateKeyLocation = properties.getProperty(KEY_PREFIX + keyId);
+                keys.put(keyId, KeyEntry.asymmetric(privateKeyLocation, properties.getProperty(name), algorithm));
+            }
+        }
+
+        retiredKeyIds(properties, null, false).forEach(keys::remove);
+
+        String activeKeyId = properties.getProperty(ACTIVE_PROPERTY, jwtProperties.getKeyId());
+        KeyEntry active = keys.get(activeKeyId);
+        if (active == null || active.signingKey == null) {
+            throw new IllegalArgumentException("Active JWT signing key is not defined: " + activeKeyId);
+        }
+        return new KeySnapshot(activeKeyId, keys, algorithm);
+    }
+
+    /**
+     * 서명/검증 키 한 쌍
+     */
+    private static final class KeyEntry {
+        private final Key signingKey;       // 검증 전용이면 null
+        private final Key verificationKey;
+        private final PublicKey publicKey;  // HS256이면 null
+
+        private KeyEntry(Key signingKey, Key verificationKey, PublicKey publicKey) {
+            this.signingKey = signingKey;
+            this.verificationKey = verificationKey;
+            this.publicKey = publicKey;
+        }
+
+        private static KeyEntry hmac(String secret) {
+            Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new KeyEntry(key, key, null);
+        }
+
+        private static KeyEntry asymmetric(String privateKeyLocation, String publicKeyLocation, String algorithm)
+                throws IOException, GeneralSecurityException {
+            if (publicKeyLocation == null || publicKeyLocation.isBlank()) {
+                throw new IllegalArgumentException("Public key location is required for " + algorithm + " keys");
+            }
+            PublicKey publicKey = JwtKeyMaterial.readPublicKey(Paths.get(publicKeyLocation), algorithm);
+            PrivateKey privateKey = privateKeyLocation == null || privateKeyLocation.isBlank()
+                    ? null
+                    : JwtKeyMaterial.readPrivateKey(Paths.get(privateKeyLocation), algorithm);
+            return new KeyEntry(privateKey, publicKey, publicKey);
+        }
+    }
+
+    /**
+     * 불변 키 스냅샷 (교체는 AtomicReference로 원자적으로 수행)
+     */
+    private static final class KeySnapshot {
+        private final String activeKeyId;
+        private final Map<String, KeyEntry> keys;
+        private final List<Map<String, Object>> publicJwks;
+        private final String jwksETag;
+
+        private KeySnapshot(String activeKeyId, Map<String, KeyEntry> keys, String algorithm) {
+            this.activeKeyId = activeKeyId;
+            this.keys = Collections.unmodifiableMap(keys);
+
+            List<Map<String, Object>> jwks = new ArrayList<>();
+            keys.forEach((keyId, entry) -> {
+                if (entry.publicKey != null) {
+                    jwks.add(Collections.unmodifiableMap(JwtKeyMaterial.toPublicJwk(keyId, algorithm, entry.publicKey)));
+                }
+            });
+            this.publicJwks = Collections.unmodifiableList(jwks);
+            this.jwksETag = computeETag(jwks);
+        }
+
+        private static String computeETag(List<Map<String, Object>> jwks) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] hash = digest.digest(jwks.toString().getBytes(StandardCharsets.UTF_8));
+                return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.kabb.bloodbank.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * 검증이 끝난 JWT 토큰의 인증 주체 정보 (불변)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class JwtPrincipal {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String tokenId; // jti
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    /**
+     * 주어진 시점 기준 만료 여부
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kabb.bloodbank.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 실행 중인 하드웨어에서 목표 해시 시간에 맞는 BCrypt strength 측정
+ * - BCrypt는 strength가 1 오를 때마다 비용이 두 배가 되므로 낮은 strength를 측정해 외삽
+ */
+public final class PasswordEncoderCalibrator {
+
+    public static final int MIN_BCRYPT_STRENGTH = 10; // 보안 하한 (OWASP 권장)
+    public static final int MAX_BCRYPT_STRENGTH = 16;
+
+    private static final int SAMPLE_STRENGTH = 8;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int SAMPLE_ROUNDS = 5;
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    /**
+     * 한 번의 해시가 targetMillis를 넘지 않는 가장 높은 strength (하한 MIN_BCRYPT_STRENGTH)
+     */
+    public static int calibrateBCryptStrength(long targetMillis) {
+        long sampleNanos = measureBCryptNanos(SAMPLE_STRENGTH);
+        return chooseStrength(sampleNanos, SAMPLE_STRENGTH, targetMillis);
+    }
+
+    /**
+     * 측정값으로부터 strength 선택 (측정과 분리해 테스트 가능하도록 분리)
+     */
+    static int chooseStrength(long sampleNanos, int sampleStrength, long targetMillis) {
+        long targetNanos = targetMillis * 1_000_000L;
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH
+                && sampleNanos * (1L << (strength + 1 - sampleStrength)) <= targetNanos) {
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * 주어진 strength의 해시 시간 측정 (JIT 워밍업 후 최솟값)
+     */
+    private static long measureBCryptNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String sample = "calibration-password";
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(sample);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(sample);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
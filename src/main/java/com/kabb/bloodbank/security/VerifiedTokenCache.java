@@ -0,0 +1,141 @@
+package com.kabb.bloodbank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 검증이 끝난 JWT 토큰 캐시 (선택 기능, jwt.cache.enabled)
+ * - 키는 토큰 원문이 아닌 SHA-256 다이제스트
+ * - 항목은 토큰 만료 시점에 제거
+ * - 메모리 사용량(추정치)과 항목 수 모두 상한을 넘지 않도록 가중치 기반으로 제한
+ * - 적중/실패 횟수는 cache.gets{cache=jwt.verified-tokens} 메트릭으로 노출
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    // 다이제스트 키(43자), JwtPrincipal, Caffeine 노드 오버헤드의 대략적인 합
+    private static final int BASE_ENTRY_BYTES = 320;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-entries:100000}") long maxEntries,
+                              @Value("${jwt.cache.max-memory-bytes:33554432}") long maxMemoryBytes,
+                              JwtKeyRing jwtKeyRing,
+                              MeterRegistry meterRegistry) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+
+        // 항목당 최소 가중치를 (메모리 상한 / 항목 수 상한)으로 두어 두 상한을 동시에 보장
+        int minEntryWeight = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemoryBytes / Math.max(1, maxEntries)));
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryBytes)
+                .weigher((String digest, JwtPrincipal principal) -> Math.max(minEntryWeight, estimateBytes(principal)))
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        // 키가 제거되면 그 키로 검증된 항목이 남지 않도록 비움
+        jwtKeyRing.addKeyRemovalListener(cache::invalidateAll);
+    }
+
+    /**
+     * 캐시에서 검증 결과를 조회하고, 없으면 verifier로 검증 후 저장
+     */
+    public Optional<JwtPrincipal> getOrVerify(String token, Function<String, Optional<JwtPrincipal>> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+
+        String digest = digest(token);
+        JwtPrincipal cached = cache.getIfPresent(digest);
+        if (cached != null && !cached.isExpiredAt(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtPrincipal> verified = verifier.apply(token);
+        verified.filter(principal -> principal.getExpiresAt() != null)
+                .ifPresent(principal -> cache.put(digest, principal));
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long getHitCount() {
+        return cache != null ? cache.stats().hitCount() : 0L;
+    }
+
+    public long getMissCount() {
+        return cache != null ? cache.stats().missCount() : 0L;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static int estimateBytes(JwtPrincipal principal) {
+        int email = principal.getEmail() != null ? principal.getEmail().length() : 0;
+        return BASE_ENTRY_BYTES + email;
+    }
+
+    private static String digest(String token) {
+        MessageDigest messageDigest = SHA256.get();
+        messageDigest.reset();
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * 토큰의 exp 시점에 항목 만료
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal value, long currentTime) {
+            long nanos = Duration.between(Instant.now(), value.getExpiresAt()).toNanos();
+            return Math.max(0L, nanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
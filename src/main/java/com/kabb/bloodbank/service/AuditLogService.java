@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
@@ -21,7 +23,24 @@ public class AuditLogService {
     public void log(AuditActionType actionType, String resourceType, Long resourceId,
                     Long userId, Long targetUserId, String description,
                     HttpServletRequest request) {
-        AuditLog auditLog = AuditLog.builder()
+        auditLogRepository.save(entry(actionType, resourceType, resourceId, userId, targetUserId, description, request));
+    }
+
+    /**
+     * 여러 감사 로그를 한 번에 기록 (JDBC 배치 INSERT, 일괄 처리용)
+     */
+    @Transactional
+    public void logAll(List<AuditLog> entries) {
+        auditLogRepository.saveAll(entries);
+    }
+
+    /**
+     * 감사 로그 항목 생성 (logAll로 모아서 기록)
+     */
+    public AuditLog entry(AuditActionType actionType, String resourceType, Long resourceId,
+                          Long userId, Long targetUserId, String description,
+                          HttpServletRequest request) {
+        return AuditLog.builder()
                 .userId(userId)
                 .targetUserId(targetUserId)
                 .actionType(actionType)
@@ -31,8 +50,6 @@ public class AuditLogService {
                 .ipAddress(getClientIpAddress(request))
                 .userAgent(request != null ? request.getHeader("User-Agent") : null)
                 .build();
-
-        auditLogRepository.save(auditLog);
     }
 
     /**
@@ -1,21 +1,46 @@
 package com.kabb.bloodbank.service;
 
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import com.kabb.bloodbank.util.UploadValidatingInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
-    @Value("${file.upload.license-dir}")
-    private String licenseUploadDir;
+    static final String STAGING_DIR_NAME = ".staging";
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
+    private final LicenseBlobStore licenseBlobStore;
+    private final LicenseRepository licenseRepository;
+
+    @Value("${file.upload.in-memory-threshold:1048576}")
+    private int inMemoryThreshold = 1024 * 1024; // 이 크기 이하의 업로드는 메모리에서 한 번에 기록
 
     /**
      * 면허증 파일 저장
@@ -23,33 +48,177 @@ public class FileStorageService {
      * @return 저장된 파일 정보 (저장 경로, 파일명 등)
      */
     public FileStorageResult storeLicenseFile(MultipartFile file) throws IOException {
+        FileStorageResult result = stageLicenseFile(file);
+        promote(result);
+        return result;
+    }
+
+    /**
+     * 면허증 파일 임시 저장 (DB 트랜잭션 시작 전에 호출)
+     * - 임시 디렉토리는 면허증 디렉토리 하위에 두어 promote가 같은 파일시스템 안의 이동이 되도록 함
+     * - 내용 주소 저장소에 같은 파일이 이미 있으면 쓰기 없이 그 파일을 참조 (stagedPath null)
+     * @return filePath는 promote 후의 최종 위치, stagedPath는 현재 임시 경로
+     */
+    public FileStorageResult stageLicenseFile(MultipartFile file) throws IOException {
         // 파일 유효성 검사
         validateFile(file);
 
-        // 디렉토리 생성
-        Path uploadPath = Paths.get(licenseUploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        // 큰 파일은 이미 리졸버가 받아 둔 내용을 먼저 해시해 보고, 중복이면 쓰지 않음 (작은 파일은 stage에서 처리)
+        if (licenseBlobStore.isContentAddressed() && file.getSize() > inMemoryThreshold) {
+            UploadValidatingInputStream validating;
+            DigestingInputStream digesting;
+            try (InputStream inputStream = file.getInputStream()) {
+                validating = new UploadValidatingInputStream(inputStream, file.getContentType(), MAX_FILE_SIZE);
+                digesting = new DigestingInputStream(validating);
+                digesting.transferTo(OutputStream.nullOutputStream());
+            }
+            String storedFileName = licenseBlobStore.storedFileName(
+                    digesting.hexDigest(), getFileExtension(file.getOriginalFilename()));
+            Optional<String> existing = licenseBlobStore.findExisting(storedFileName);
+            if (existing.isPresent()) {
+                return existingResult(storedFileName, existing.get(), file.getOriginalFilename(),
+                        validating.verifiedType().getMimeType(), digesting);
+            }
+        }
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return stage(inputStream, file.getOriginalFilename(), file.getContentType());
         }
+    }
+
+    /**
+     * 스트리밍 업로드 본문을 임시 위치에 바로 기록 (멀티파트 리졸버의 임시 파일을 거치지 않음)
+     * - 한 번 읽으면서 SHA-256과 크기를 함께 계산하고, 10MB를 넘거나 앞부분 바이트가 허용 형식이 아니면 즉시 중단
+     */
+    public FileStorageResult stageLicenseStream(InputStream content, String originalFilename, String contentType)
+            throws IOException {
+        validateContentType(contentType);
+        return stage(content, originalFilename, contentType);
+    }
+
+    private FileStorageResult stage(InputStream content, String originalFilename, String contentType)
+            throws IOException {
+        // 디렉토리 생성
+        Path stagingPath = licenseBlobStore.root().resolve(STAGING_DIR_NAME);
+        Files.createDirectories(stagingPath);
 
-        // 고유한 파일명 생성 (UUID 사용)
-        String originalFilename = file.getOriginalFilename();
         String extension = getFileExtension(originalFilename);
-        String storedFileName = UUID.randomUUID().toString() + extension;
-        Path filePath = uploadPath.resolve(storedFileName);
+        // 형식/크기 검사는 읽는 도중에 수행되어, 위반 시 첫 청크에서 바로 중단 (디스크에 쓰기 전)
+        UploadValidatingInputStream validating = new UploadValidatingInputStream(content, contentType, MAX_FILE_SIZE);
+        DigestingInputStream digesting = new DigestingInputStream(validating);
 
-        // 파일 저장
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // 1. 임계값까지 메모리로 읽음 (작은 파일은 여기서 전부 읽히고 해시도 확정)
+        byte[] head = digesting.readNBytes(inMemoryThreshold);
+        if (head.length == 0) {
+            throw new IllegalArgumentException("파일이 비어있습니다");
+        }
+        boolean complete = head.length < inMemoryThreshold;
+        String detectedContentType = validating.verifiedType().getMimeType();
 
+        // 2. 내용 주소 저장소에 같은 파일이 있으면 쓰지 않고 끝
+        if (complete && licenseBlobStore.isContentAddressed()) {
+            String storedFileName = licenseBlobStore.storedFileName(digesting.hexDigest(), extension);
+            Optional<String> existing = licenseBlobStore.findExisting(storedFileName);
+            if (existing.isPresent()) {
+                return existingResult(storedFileName, existing.get(), originalFilename, detectedContentType, digesting);
+            }
+        }
+
+        // 3. 임시 위치에 한 번만 기록 (크기, 해시 동시 계산)
+        Path stagedFile = stagingPath.resolve(UUID.randomUUID() + extension);
+        try {
+            writeOnce(head, complete ? null : digesting, stagedFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stagedFile);
+            throw e;
+        }
+
+        String storedFileName = licenseBlobStore.storedFileName(digesting.hexDigest(), extension);
         return FileStorageResult.builder()
                 .originalFileName(originalFilename)
                 .storedFileName(storedFileName)
-                .filePath(filePath.toString())
-                .fileSize(file.getSize())
-                .contentType(file.getContentType())
+                .filePath(licenseBlobStore.location(storedFileName))
+                .stagedPath(stagedFile.toString())
+                .fileSize(digesting.getCount())
+                .contentType(detectedContentType)
+                .contentHash(digesting.hexDigest())
                 .build();
     }
 
+    private FileStorageResult existingResult(String storedFileName, String existingLocation, String originalFilename,
+                                             String contentType, DigestingInputStream digesting) {
+        return FileStorageResult.builder()
+                .originalFileName(originalFilename)
+                .storedFileName(storedFileName)
+                .filePath(existingLocation)
+                .fileSize(digesting.getCount())
+                .contentType(contentType)
+                .contentHash(digesting.hexDigest())
+                .build();
+    }
+
+    /**
+     * 본문을 파일에 한 번만 기록
+     * - 임계값 이하는 메모리에 모은 뒤 한 번의 write, 초과분(rest)은 FileChannel.transferFrom으로 전송
+     */
+    private void writeOnce(byte[] head, InputStream rest, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer headBuffer = ByteBuffer.wrap(head);
+            while (headBuffer.hasRemaining()) {
+                channel.write(headBuffer);
+            }
+            if (rest == null) {
+                return; // 작은 파일은 여기서 끝
+            }
+
+            ReadableByteChannel source = Channels.newChannel(rest);
+            long position = head.length;
+            long transferred;
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * 임시 저장된 파일을 최종 위치로 이동 (DB 커밋 후 호출)
+     */
+    public void promote(FileStorageResult result) throws IOException {
+        if (result.getStagedPath() == null) {
+            return;
+        }
+        licenseBlobStore.promote(Paths.get(result.getStagedPath()), result.getStoredFileName());
+        result.setStagedPath(null);
+    }
+
+    /**
+     * 임시 저장된 파일 삭제 (DB 트랜잭션 실패 시 호출)
+     */
+    public void discardStaged(FileStorageResult result) {
+        if (result.getStagedPath() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(result.getStagedPath()));
+            result.setStagedPath(null);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload {}: {}", result.getStagedPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * 더 이상 참조하는 License 행이 없을 때만 저장된 면허증 파일 삭제
+     * - 내용 주소 저장소에서는 여러 License가 같은 파일을 공유하므로 참조 수 = 같은 storedFileName의 행 수
+     * @return 삭제했으면 true
+     */
+    public boolean deleteLicenseFileIfUnreferenced(String storedFileName) throws IOException {
+        if (licenseRepository.countByStoredFileName(storedFileName) > 0) {
+            return false;
+        }
+        return licenseBlobStore.delete(storedFileName);
+    }
+
     /**
      * 파일 삭제
      */
@@ -61,7 +230,7 @@ public class FileStorageService {
     }
 
     /**
-     * 파일 유효성 검사
+     * 파일 유효성 검사 (선언된 값 기준 빠른 검사, 실제 내용은 읽으면서 UploadValidatingInputStream이 검사)
      */
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -69,14 +238,18 @@ public class FileStorageService {
         }
 
         // 파일 크기 검사 (10MB)
-        long maxSize = 10 * 1024 * 1024; // 10MB
-        if (file.getSize() > maxSize) {
+        if (file.getSize() > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("파일 크기는 10MB를 초과할 수 없습니다");
         }
 
-        // 파일 타입 검사 (이미지 또는 PDF)
-        String contentType = file.getContentType();
-        if (contentType == null || 
+        validateContentType(file.getContentType());
+    }
+
+    /**
+     * 파일 타입 검사 (이미지 또는 PDF)
+     */
+    private void validateContentType(String contentType) {
+        if (contentType == null ||
             (!contentType.startsWith("image/") && !contentType.equals("application/pdf"))) {
             throw new IllegalArgumentException("이미지 파일 또는 PDF 파일만 업로드 가능합니다");
         }
@@ -102,8 +275,61 @@ public class FileStorageService {
         private String originalFileName;
         private String storedFileName;
         private String filePath;
+        private String stagedPath; // promote 전 임시 경로 (promote/discard 후 null)
         private long fileSize;
         private String contentType;
+        private String contentHash; // SHA-256 (hex)
+    }
+
+    /**
+     * 읽은 바이트 수와 SHA-256을 함께 계산하는 스트림
+     */
+    private static class DigestingInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private long count;
+        private String hex;
+
+        DigestingInputStream(InputStream in) {
+            super(in);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                digest.update((byte) b);
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        // 끝까지 읽은 뒤 호출 (한 번 계산한 값을 재사용)
+        String hexDigest() {
+            if (hex == null) {
+                hex = HexFormat.of().formatHex(digest.digest());
+            }
+            return hex;
+        }
     }
 }
 
@@ -1,21 +1,40 @@
 package com.kabb.bloodbank.service;
 
+import com.kabb.bloodbank.domain.entity.AuditLog;
 import com.kabb.bloodbank.domain.entity.License;
 import com.kabb.bloodbank.domain.entity.User;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
 import com.kabb.bloodbank.domain.enums.AuditActionType;
+import com.kabb.bloodbank.dto.projection.LicenseDecisionTarget;
+import com.kabb.bloodbank.dto.request.LicenseDecisionRequest;
+import com.kabb.bloodbank.dto.response.CursorPageResponse;
 import com.kabb.bloodbank.dto.response.LicenseApprovalResponse;
+import com.kabb.bloodbank.dto.response.LicenseDecisionResult;
 import com.kabb.bloodbank.repository.LicenseRepository;
 import com.kabb.bloodbank.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LicenseApprovalService {
@@ -23,15 +42,58 @@ public class LicenseApprovalService {
     private final LicenseRepository licenseRepository;
     private final UserRepository userRepository;
     private final AuditLogService auditLogService;
+    private final UserCredentialCache userCredentialCache;
+    private final LicenseThumbnailService licenseThumbnailService;
+    private final TransactionTemplate transactionTemplate;
+    private final LicenseReviewEventService licenseReviewEventService;
+
+    @Value("${license.bulk-decision.chunk-size:500}")
+    private int bulkChunkSize = 500; // 일괄 승인/거절 시 한 트랜잭션에서 처리할 건수
+
+    private static final int MAX_PAGE_SIZE = 200;
+    // 조건이 없을 때 쓰는 경계값 (파라미터를 null로 넘기지 않아 쿼리 하나로 인덱스 범위 검색)
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     /**
-     * 면허증 승인 대기 목록 조회
+     * 면허증 승인 대기 목록 조회 (키셋 페이지)
+     * - (approval_status, created_at, id) 인덱스 순서대로 읽으므로 뒤 페이지도 앞 페이지와 같은 비용
+     * - 사용자/병원 정보는 같은 쿼리에서 조인해 가져옴 (행마다 추가 조회 없음)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param newestFirst true면 최근 제출 순, false면 오래된 순
+     * @param submittedAfter 이 시각 이후 제출된 것만 (null이면 전체)
+     * @param hospitalPrefix 병원명 접두어 (null/빈 값이면 전체)
      */
-    public List<LicenseApprovalResponse> getPendingLicenses() {
-        return licenseRepository.findByApprovalStatus(ApprovalStatus.PENDING)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<LicenseApprovalResponse> getPendingLicenses(int size, String cursor, boolean newestFirst,
+                                                                          LocalDateTime submittedAfter,
+                                                                          String hospitalPrefix) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다");
+        }
+        PageCursor position = cursor != null && !cursor.isBlank() ? decodeCursor(cursor)
+                : newestFirst ? new PageCursor(LATEST, Long.MAX_VALUE) : new PageCursor(EARLIEST, 0L);
+        LocalDateTime after = submittedAfter != null ? submittedAfter : EARLIEST;
+        String hospitalPattern = hospitalPrefix != null && !hospitalPrefix.isBlank()
+                ? escapeLike(hospitalPrefix.trim()) + "%" : "";
+        PageRequest limit = PageRequest.of(0, size + 1); // 한 건 더 읽어 다음 페이지 여부 판단
+
+        List<LicenseApprovalResponse> rows = newestFirst
+                ? licenseRepository.findApprovalPageDescending(ApprovalStatus.PENDING, after, hospitalPattern,
+                        position.createdAt(), position.id(), limit)
+                : licenseRepository.findApprovalPageAscending(ApprovalStatus.PENDING, after, hospitalPattern,
+                        position.createdAt(), position.id(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<LicenseApprovalResponse> items = hasNext ? rows.subList(0, size) : rows;
+        items.forEach(item -> item.setThumbnailUrl(
+                thumbnailUrl(item.getLicenseId(), item.getStoredFileName(), item.getFilePath(), item.getContentType())));
+
+        LicenseApprovalResponse last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return CursorPageResponse.<LicenseApprovalResponse>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last.getSubmittedAt(), last.getLicenseId()) : null)
+                .build();
     }
 
     /**
@@ -39,23 +101,8 @@ public class LicenseApprovalService {
      */
     @Transactional
     public LicenseApprovalResponse approveLicense(Long licenseId, Long adminId, HttpServletRequest request) {
-        License license = licenseRepository.findById(licenseId)
-                .orElseThrow(() -> new IllegalArgumentException("면허증을 찾을 수 없습니다"));
-
-        if (license.getApprovalStatus() != ApprovalStatus.PENDING) {
-            throw new IllegalArgumentException("승인 대기 상태의 면허증만 승인할 수 있습니다");
-        }
-
-        license.setApprovalStatus(ApprovalStatus.APPROVED);
-        license.setApprovedBy(adminId);
-        license.setApprovedAt(LocalDateTime.now());
-        license.setRejectionReason(null);
-        licenseRepository.save(license);
-
-        // 사용자 승인 상태 업데이트
-        User user = license.getUser();
-        user.setApprovalStatus(ApprovalStatus.APPROVED);
-        userRepository.save(user);
+        License license = transition(licenseId, adminId, ApprovalStatus.APPROVED, null,
+                "승인 대기 상태의 면허증만 승인할 수 있습니다");
 
         // 감사 로그 기록
         auditLogService.log(
@@ -63,7 +110,7 @@ public class LicenseApprovalService {
                 "LICENSE",
                 licenseId,
                 adminId,
-                user.getId(),
+                license.getUser().getId(),
                 "면허증 승인 완료",
                 request
         );
@@ -76,23 +123,8 @@ public class LicenseApprovalService {
      */
     @Transactional
     public LicenseApprovalResponse rejectLicense(Long licenseId, Long adminId, String reason, HttpServletRequest request) {
-        License license = licenseRepository.findById(licenseId)
-                .orElseThrow(() -> new IllegalArgumentException("면허증을 찾을 수 없습니다"));
-
-        if (license.getApprovalStatus() != ApprovalStatus.PENDING) {
-            throw new IllegalArgumentException("승인 대기 상태의 면허증만 거절할 수 있습니다");
-        }
-
-        license.setApprovalStatus(ApprovalStatus.REJECTED);
-        license.setApprovedBy(adminId);
-        license.setApprovedAt(LocalDateTime.now());
-        license.setRejectionReason(reason);
-        licenseRepository.save(license);
-
-        // 사용자 승인 상태 업데이트
-        User user = license.getUser();
-        user.setApprovalStatus(ApprovalStatus.REJECTED);
-        userRepository.save(user);
+        License license = transition(licenseId, adminId, ApprovalStatus.REJECTED, reason,
+                "승인 대기 상태의 면허증만 거절할 수 있습니다");
 
         // 감사 로그 기록
         auditLogService.log(
@@ -100,7 +132,7 @@ public class LicenseApprovalService {
                 "LICENSE",
                 licenseId,
                 adminId,
-                user.getId(),
+                license.getUser().getId(),
                 "면허증 거절: " + reason,
                 request
         );
@@ -108,6 +140,186 @@ public class LicenseApprovalService {
         return convertToResponse(license);
     }
 
+    /**
+     * PENDING -> status 전이
+     * - 상태 검사와 변경을 조건부 UPDATE 하나로 처리해 두 관리자가 동시에 처리해도 한 명만 성공
+     * - 사용자 승인 상태도 UPDATE로 바꾼 뒤 면허증/사용자/병원을 한 번에 읽어 응답에 사용 (읽은 엔티티가 DB와 같은 상태)
+     */
+    private License transition(Long licenseId, Long adminId, ApprovalStatus status, String reason,
+                               String notPendingMessage) {
+        LocalDateTime decidedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = licenseRepository.updateDecision(List.of(licenseId), ApprovalStatus.PENDING, status, adminId,
+                reason, decidedAt);
+        if (updated == 0) {
+            // 실패한 경우에만 원인 확인
+            if (!licenseRepository.existsById(licenseId)) {
+                throw new IllegalArgumentException("면허증을 찾을 수 없습니다");
+            }
+            throw new IllegalArgumentException(notPendingMessage);
+        }
+
+        userRepository.updateApprovalStatusByLicenseId(licenseId, status, decidedAt);
+        License license = licenseRepository.findWithUserAndHospitalById(licenseId)
+                .orElseThrow(() -> new IllegalArgumentException("면허증을 찾을 수 없습니다"));
+        userCredentialCache.invalidate(license.getUser().getEmail());
+        licenseReviewEventService.publish(status, licenseId, license.getUser().getId());
+        return license;
+    }
+
+    /**
+     * 면허증 일괄 승인/거절
+     * - chunk-size 건씩 한 트랜잭션으로 처리: 대상 조회 1회, (결과, 사유)별 조건부 UPDATE, 사용자 상태 UPDATE,
+     *   감사 로그 배치 INSERT이므로 문 수는 건수가 아니라 청크 수에 비례
+     * - 한 청크가 실패하면 그 청크만 롤백하고 나머지 청크는 계속 처리
+     * @return 요청 순서대로 항목별 성공 여부
+     */
+    public LicenseDecisionResult decideLicenses(List<LicenseDecisionRequest.Item> items, Long adminId,
+                                                HttpServletRequest request) {
+        LicenseDecisionResult.Item[] results = new LicenseDecisionResult.Item[items.size()];
+        Set<Long> seen = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            LicenseDecisionRequest.Item item = items.get(i);
+            String error = validateDecision(item);
+            if (error == null && !seen.add(item.getLicenseId())) {
+                error = "같은 면허증이 중복되었습니다";
+            }
+            if (error != null) {
+                results[i] = decisionResult(item, error);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += bulkChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + bulkChunkSize, pending.size()));
+            try {
+                Map<Integer, String> outcome = transactionTemplate.execute(status ->
+                        decideChunk(items, chunk, adminId, request));
+                outcome.forEach((index, error) -> results[index] = decisionResult(items.get(index), error));
+            } catch (RuntimeException e) {
+                log.warn("Bulk license decision chunk failed ({} items): {}", chunk.size(), e.getMessage());
+                chunk.forEach(index -> results[index] =
+                        decisionResult(items.get(index), "처리 중 오류가 발생했습니다: " + e.getMessage()));
+            }
+        }
+
+        int succeeded = 0;
+        for (LicenseDecisionResult.Item result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            }
+        }
+        return LicenseDecisionResult.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * 청크 하나 처리 (트랜잭션 안에서 호출)
+     * @return 요청 인덱스별 실패 사유 (성공이면 null)
+     */
+    private Map<Integer, String> decideChunk(List<LicenseDecisionRequest.Item> items, List<Integer> chunk,
+                                             Long adminId, HttpServletRequest request) {
+        // DB 저장 정밀도(마이크로초)에 맞춰, 동시 처리 시 이번 UPDATE로 바뀐 행을 이 값으로 다시 찾음
+        LocalDateTime decidedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<Integer, String> outcome = new HashMap<>();
+
+        List<Long> ids = chunk.stream().map(index -> items.get(index).getLicenseId()).toList();
+        Map<Long, LicenseDecisionTarget> targets = new HashMap<>();
+        licenseRepository.findDecisionTargets(ids).forEach(target -> targets.put(target.getLicenseId(), target));
+
+        // 1. 같은 결과/사유끼리 묶어 조건부 UPDATE (그 사이 다른 관리자가 처리한 행은 바뀌지 않음)
+        Map<DecisionGroup, List<Integer>> groups = new LinkedHashMap<>();
+        for (Integer index : chunk) {
+            LicenseDecisionRequest.Item item = items.get(index);
+            LicenseDecisionTarget target = targets.get(item.getLicenseId());
+            if (target == null) {
+                outcome.put(index, "면허증을 찾을 수 없습니다");
+            } else if (target.getApprovalStatus() != ApprovalStatus.PENDING) {
+                outcome.put(index, "승인 대기 상태의 면허증만 처리할 수 있습니다");
+            } else {
+                groups.computeIfAbsent(new DecisionGroup(item.getDecision(), rejectionReason(item)),
+                        group -> new ArrayList<>()).add(index);
+            }
+        }
+
+        Map<ApprovalStatus, List<Long>> decidedUsers = new LinkedHashMap<>();
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (Map.Entry<DecisionGroup, List<Integer>> entry : groups.entrySet()) {
+            DecisionGroup group = entry.getKey();
+            List<Long> groupIds = entry.getValue().stream().map(index -> items.get(index).getLicenseId()).toList();
+            int updated = licenseRepository.updateDecision(groupIds, ApprovalStatus.PENDING, group.status(), adminId,
+                    group.reason(), decidedAt);
+            Set<Long> applied = updated == groupIds.size() ? new HashSet<>(groupIds)
+                    : new HashSet<>(licenseRepository.findDecidedIds(groupIds, group.status(), adminId, decidedAt));
+
+            for (Integer index : entry.getValue()) {
+                Long licenseId = items.get(index).getLicenseId();
+                if (!applied.contains(licenseId)) {
+                    outcome.put(index, "승인 대기 상태의 면허증만 처리할 수 있습니다");
+                    continue;
+                }
+                LicenseDecisionTarget target = targets.get(licenseId);
+                outcome.put(index, null);
+                decidedUsers.computeIfAbsent(group.status(), status -> new ArrayList<>()).add(target.getUserId());
+                userCredentialCache.invalidate(target.getEmail());
+                licenseReviewEventService.publish(group.status(), licenseId, target.getUserId());
+                auditLogs.add(auditLogService.entry(
+                        group.status() == ApprovalStatus.APPROVED ? AuditActionType.APPROVE : AuditActionType.REJECT,
+                        "LICENSE",
+                        licenseId,
+                        adminId,
+                        target.getUserId(),
+                        group.status() == ApprovalStatus.APPROVED ? "면허증 승인 완료" : "면허증 거절: " + group.reason(),
+                        request
+                ));
+            }
+        }
+
+        // 2. 사용자 승인 상태는 결과별 한 번씩, 감사 로그는 배치 INSERT
+        decidedUsers.forEach((status, userIds) -> userRepository.updateApprovalStatus(userIds, status, decidedAt));
+        auditLogService.logAll(auditLogs);
+        return outcome;
+    }
+
+    private static String validateDecision(LicenseDecisionRequest.Item item) {
+        if (item.getDecision() != ApprovalStatus.APPROVED && item.getDecision() != ApprovalStatus.REJECTED) {
+            return "처리 결과는 APPROVED 또는 REJECTED여야 합니다";
+        }
+        if (item.getDecision() == ApprovalStatus.REJECTED) {
+            String reason = rejectionReason(item);
+            if (reason == null) {
+                return "거절 사유를 입력해주세요";
+            }
+            if (reason.length() > 500) {
+                return "거절 사유는 500자를 초과할 수 없습니다";
+            }
+        }
+        return null;
+    }
+
+    private static String rejectionReason(LicenseDecisionRequest.Item item) {
+        if (item.getDecision() != ApprovalStatus.REJECTED || item.getReason() == null || item.getReason().isBlank()) {
+            return null;
+        }
+        return item.getReason().trim();
+    }
+
+    private static LicenseDecisionResult.Item decisionResult(LicenseDecisionRequest.Item item, String error) {
+        return LicenseDecisionResult.Item.builder()
+                .licenseId(item.getLicenseId())
+                .decision(item.getDecision())
+                .success(error == null)
+                .message(error)
+                .build();
+    }
+
+    private record DecisionGroup(ApprovalStatus status, String reason) {
+    }
+
     /**
      * 엔티티를 응답 DTO로 변환
      */
@@ -121,7 +333,47 @@ public class LicenseApprovalService {
                 .approvalStatus(license.getApprovalStatus())
                 .rejectionReason(license.getRejectionReason())
                 .approvedAt(license.getApprovedAt())
+                .submittedAt(license.getCreatedAt())
+                .thumbnailUrl(thumbnailUrl(license.getId(), license.getStoredFileName(), license.getFilePath(),
+                        license.getContentType()))
                 .build();
     }
+
+    /**
+     * 썸네일 주소 (없으면 생성을 요청하고 null, 다음 조회부터 표시)
+     */
+    private String thumbnailUrl(Long licenseId, String storedFileName, String filePath, String contentType) {
+        if (licenseThumbnailService.findThumbnail(storedFileName).isPresent()) {
+            return "/api/admin/licenses/" + licenseId + "/thumbnail";
+        }
+        licenseThumbnailService.requestThumbnail(storedFileName, filePath, contentType);
+        return null;
+    }
+
+    /**
+     * 커서 = base64url("제출 시각|id"), 클라이언트는 내용을 해석하지 않고 그대로 돌려줌
+     */
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    record PageCursor(LocalDateTime createdAt, Long id) {
+    }
 }
 
@@ -0,0 +1,362 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.entity.License;
+import com.kabb.bloodbank.dto.projection.LicenseFileRef;
+import com.kabb.bloodbank.dto.response.LicenseFileCleanupReport;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.BlobRegion;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import com.kabb.bloodbank.storage.StoredBlob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 면허증 저장소의 고아 파일 정리
+ * - 어떤 License 행도 참조하지 않는 파일(가입 실패, 재업로드 등으로 남은 파일)을 유예 기간이 지나면 삭제
+ * - 저장소를 최상위 디렉토리 단위로 나눠 병렬로 훑고, 참조 여부는 저장 파일명 묶음마다 한 번의 IN 조회로 확인
+ * - 유예 기간 안에 저장/재사용된 항목(수정 시각 기준)은 커밋 전인 가입이 참조할 수 있으므로 남겨 둠
+ * - 썸네일은 원본이 참조되는 동안 유지, 구조 이전 후 남은 옛 이름(같은 내용의 링크)은 참조가 없으면 삭제
+ * - promote 전에 중단된 가입이 남긴 .staging 임시 파일도 유예 기간이 지나면 삭제
+ *   단, 커밋된 License가 참조하는 임시 파일(커밋 후 promote 실패)은 지우지 않고 최종 위치로 이동
+ * - 주기 실행은 전용 스레드에 넘기고 바로 반환 (스케줄러 스레드를 잡고 있으면 토큰 폐기 동기화 등 다른 주기 작업이 밀림)
+ */
+@Slf4j
+@Service
+public class LicenseFileCleanupService {
+
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PARALLELISM = 32;
+
+    private final LicenseRepository licenseRepository;
+    private final LicenseBlobStore licenseBlobStore;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int parallelism;
+    private final boolean scheduledDryRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "license-file-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile LicenseFileCleanupReport lastReport; // 아직 실행한 적 없으면 null
+
+    public LicenseFileCleanupService(LicenseRepository licenseRepository,
+                                     LicenseBlobStore licenseBlobStore,
+                                     @Value("${file.cleanup.grace:PT24H}") Duration gracePeriod,
+                                     @Value("${file.cleanup.batch-size:1000}") int batchSize,
+                                     @Value("${file.cleanup.parallelism:4}") int parallelism,
+                                     @Value("${file.cleanup.dry-run:false}") boolean scheduledDryRun) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("file.cleanup.batch-size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("file.cleanup.parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+        this.licenseRepository = licenseRepository;
+        this.licenseBlobStore = licenseBlobStore;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.scheduledDryRun = scheduledDryRun;
+    }
+
+    /**
+     * 주기적 정리를 백그라운드에서 시작 (이미 실행 중이면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${file.cleanup.interval:3600000}",
+            initialDelayString = "${file.cleanup.interval:3600000}")
+    public void scheduledCleanup() {
+        try {
+            coordinator.execute(() -> {
+                try {
+                    run(scheduledDryRun);
+                } catch (IllegalArgumentException e) {
+                    log.debug("Skipping scheduled license file cleanup: {}", e.getMessage());
+                } catch (RuntimeException e) {
+                    log.error("Scheduled license file cleanup failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("License file cleanup coordinator is shut down");
+        }
+    }
+
+    /**
+     * 호출한 스레드에서 정리를 끝까지 실행 (동시에 하나만 실행)
+     * @param dryRun true면 삭제하지 않고 대상과 회수 예정 크기만 집계
+     */
+    public LicenseFileCleanupReport run(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("파일 정리 작업이 이미 실행 중입니다");
+        }
+        try {
+            Progress progress = new Progress(dryRun, Instant.now().minus(gracePeriod));
+            cleanup(progress);
+            LicenseFileCleanupReport report = progress.snapshot();
+            lastReport = report;
+            log.info("License file cleanup finished: dryRun={}, scanned={}, orphaned={}, deleted={}, failed={}, bytes={}",
+                    dryRun, report.getScanned(), report.getOrphaned(), report.getDeleted(), report.getFailed(),
+                    report.getBytesReclaimed());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 마지막 정리 결과
+     */
+    public Optional<LicenseFileCleanupReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private void cleanup(Progress progress) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            pending.add(CompletableFuture.runAsync(() -> cleanupStaging(progress), workers));
+            for (Path scanRoot : licenseBlobStore.scanRoots()) {
+                pending.add(CompletableFuture.runAsync(() -> cleanupScanRoot(scanRoot, progress), workers));
+            }
+            pending.forEach(CompletableFuture::join);
+        } catch (IOException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Failed to list license storage {}: {}", licenseBlobStore.root(), e.getMessage());
+        } finally {
+            progress.finishedAt = LocalDateTime.now();
+            workers.shutdown();
+        }
+    }
+
+    private void cleanupScanRoot(Path scanRoot, Progress progress) {
+        List<StoredBlob> candidates = new ArrayList<>();
+        try {
+            for (StoredBlob blob : licenseBlobStore.scan(scanRoot)) {
+                progress.scanned.incrementAndGet();
+                if (!blob.lastUsed().isAfter(progress.cutoff)) {
+                    candidates.add(blob);
+                }
+            }
+        } catch (IOException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Failed to scan license storage {}: {}", scanRoot, e.getMessage());
+            return;
+        }
+
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<StoredBlob> batch = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+            Map<String, Set<String>> references = findReferences(batch);
+            for (StoredBlob blob : batch) {
+                if (isOrphan(blob, references)) {
+                    remove(blob, progress);
+                }
+            }
+        }
+    }
+
+    /**
+     * 묶음의 저장 파일명별 참조 위치 (License.filePath)
+     */
+    private Map<String, Set<String>> findReferences(List<StoredBlob> batch) {
+        Set<String> names = new LinkedHashSet<>();
+        batch.forEach(blob -> names.add(ownerName(blob.storedFileName())));
+        Map<String, Set<String>> references = new HashMap<>();
+        for (LicenseFileRef ref : licenseRepository.findFileRefsByStoredFileNameIn(names)) {
+            references.computeIfAbsent(ref.getStoredFileName(), name -> new HashSet<>()).add(ref.getFilePath());
+        }
+        return references;
+    }
+
+    private boolean isOrphan(StoredBlob blob, Map<String, Set<String>> references) {
+        String name = blob.storedFileName();
+        if (name.endsWith(LicenseThumbnailService.THUMBNAIL_SUFFIX)) {
+            return !references.containsKey(ownerName(name));
+        }
+        Set<String> locations = references.get(name);
+        if (locations == null) {
+            return true;
+        }
+        if (locations.contains(blob.location())) {
+            return false;
+        }
+        // 참조는 있지만 이 위치는 아님: 현재 위치에 같은 내용이 따로 있을 때만 남은 옛 이름으로 보고 삭제
+        try {
+            Optional<BlobRegion> current = licenseBlobStore.locate(name, null);
+            return current.isPresent() && !current.get().file().equals(blob.path());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void remove(StoredBlob blob, Progress progress) {
+        progress.orphaned.incrementAndGet();
+        if (progress.dryRun) {
+            progress.bytesReclaimed.addAndGet(blob.size());
+            return;
+        }
+        try {
+            // 훑은 뒤 재사용됐으면 삭제하지 않음
+            if (licenseBlobStore.deleteIfUnused(blob, progress.cutoff)) {
+                progress.deleted.incrementAndGet();
+                progress.bytesReclaimed.addAndGet(blob.size());
+            }
+        } catch (IOException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Failed to delete orphaned license file {}: {}", blob.path(), e.getMessage());
+        }
+    }
+
+    /**
+     * promote/discard 없이 남은 임시 파일 (업로드 도중 프로세스 종료, 커밋 후 promote 실패 등)
+     */
+    private void cleanupStaging(Progress progress) {
+        Path stagingPath = licenseBlobStore.root().resolve(FileStorageService.STAGING_DIR_NAME);
+        if (!Files.isDirectory(stagingPath)) {
+            return;
+        }
+        Map<String, Long> candidates = new LinkedHashMap<>(); // 임시 파일명 → 크기
+        try (Stream<Path> files = Files.list(stagingPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                progress.scanned.incrementAndGet();
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile() && !attributes.lastModifiedTime().toInstant().isAfter(progress.cutoff)) {
+                        candidates.put(file.getFileName().toString(), attributes.size());
+                    }
+                } catch (NoSuchFileException e) {
+                    // 그 사이 promote/discard됨
+                }
+            }
+        } catch (IOException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Failed to clean up staged uploads in {}: {}", stagingPath, e.getMessage());
+            return;
+        }
+
+        List<String> names = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> batch = names.subList(from, Math.min(from + batchSize, names.size()));
+            Map<String, String> referenced = new HashMap<>(); // 임시 파일명 → 저장 파일명
+            for (License license : licenseRepository.findByStagedFileNameIn(batch)) {
+                referenced.put(license.getStagedFileName(), license.getStoredFileName());
+            }
+            for (String name : batch) {
+                Path file = stagingPath.resolve(name);
+                String storedFileName = referenced.get(name);
+                if (storedFileName != null) {
+                    promoteCommitted(file, storedFileName, progress);
+                    continue;
+                }
+                progress.orphaned.incrementAndGet();
+                long size = candidates.get(name);
+                if (progress.dryRun) {
+                    progress.bytesReclaimed.addAndGet(size);
+                    continue;
+                }
+                try {
+                    if (Files.deleteIfExists(file)) {
+                        progress.deleted.incrementAndGet();
+                        progress.bytesReclaimed.addAndGet(size);
+                    }
+                } catch (IOException e) {
+                    progress.failed.incrementAndGet();
+                    log.warn("Failed to delete staged upload {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 커밋된 가입의 임시 파일을 최종 위치로 이동 (가입 요청에서 promote가 실패한 경우)
+     */
+    private void promoteCommitted(Path file, String storedFileName, Progress progress) {
+        if (progress.dryRun) {
+            return;
+        }
+        try {
+            licenseBlobStore.promote(file, storedFileName);
+            log.info("Promoted staged license upload {} left by a failed promote", file.getFileName());
+        } catch (NoSuchFileException e) {
+            // 그 사이 다른 노드가 이동함
+        } catch (IOException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Failed to promote staged license upload {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * 썸네일이면 원본의 저장 파일명, 아니면 그대로
+     */
+    private static String ownerName(String storedFileName) {
+        if (storedFileName.endsWith(LicenseThumbnailService.THUMBNAIL_SUFFIX)) {
+            return storedFileName.substring(0,
+                    storedFileName.length() - LicenseThumbnailService.THUMBNAIL_SUFFIX.length());
+        }
+        return storedFileName;
+    }
+
+    private static class Progress {
+        private final boolean dryRun;
+        private final Instant cutoff; // 이 시각 이후 사용된 항목은 유예
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong orphaned = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong bytesReclaimed = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        Progress(boolean dryRun, Instant cutoff) {
+            this.dryRun = dryRun;
+            this.cutoff = cutoff;
+        }
+
+        LicenseFileCleanupReport snapshot() {
+            return LicenseFileCleanupReport.builder()
+                    .dryRun(dryRun)
+                    .scanned(scanned.get())
+                    .orphaned(orphaned.get())
+                    .deleted(deleted.get())
+                    .failed(failed.get())
+                    .bytesReclaimed(bytesReclaimed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.entity.License;
+import com.kabb.bloodbank.domain.enums.AuditActionType;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.BlobRegion;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 관리자용 면허증 파일 전송
+ * - Tomcat sendfile을 지원하면 커널이 파일을 바로 소켓으로 보내고 (사용자 공간 복사 없음),
+ *   지원하지 않으면 FileChannel.transferTo로 전송
+ * - 단일 Range 요청 지원 (PDF 뷰어가 필요한 페이지만 받아 감), 여러 구간 요청은 전체 전송으로 응답
+ * - ETag는 내용 SHA-256 (강한 검증자) 이므로 같은 파일 재조회는 304로 본문 없이 끝남
+ * - 썸네일도 같은 방식으로 전송
+ */
+@Service
+@RequiredArgsConstructor
+public class LicenseFileDownloadService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    static final long[] UNSATISFIABLE = new long[0]; // 416 응답 표시
+
+    private final LicenseRepository licenseRepository;
+    private final AuditLogService auditLogService;
+    private final LicenseThumbnailService licenseThumbnailService;
+    private final LicenseBlobStore licenseBlobStore;
+
+    /**
+     * 면허증 파일을 응답으로 전송
+     */
+    public void sendLicenseFile(Long licenseId, Long adminId, HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        License license = findLicense(licenseId);
+        BlobRegion region = licenseBlobStore.locate(license.getStoredFileName(), license.getFilePath())
+                .orElseThrow(() -> new IllegalArgumentException("면허증 파일을 찾을 수 없습니다"));
+        String etag = license.getContentHash() != null
+                ? "\"" + license.getContentHash() + "\""
+                : weakEtag(region); // 해시가 없는 이전 업로드
+
+        long start = send(region, etag, license.getContentType(), license.getFileName(), request, response);
+        if (start == 0) {
+            // 뷰어가 이어서 보내는 구간 요청마다 남기지 않도록 처음부터 받는 요청만 기록
+            auditLogService.log(AuditActionType.VIEW, "LICENSE_FILE", licenseId, adminId,
+                    license.getUser().getId(), "면허증 파일 조회", request);
+        }
+    }
+
+    /**
+     * 면허증 썸네일을 응답으로 전송 (목록 화면용)
+     */
+    public void sendThumbnail(Long licenseId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        License license = findLicense(licenseId);
+        Path path = licenseThumbnailService.findThumbnail(license.getStoredFileName())
+                .orElseThrow(() -> new IllegalArgumentException("썸네일이 아직 생성되지 않았습니다"));
+        BlobRegion region = new BlobRegion(path, 0, Files.size(path));
+        String etag = license.getContentHash() != null
+                ? "\"" + license.getContentHash() + "-thumb\""
+                : weakEtag(region);
+        send(region, etag, "image/jpeg", "thumbnail.jpg", request, response);
+    }
+
+    private License findLicense(Long licenseId) {
+        return licenseRepository.findById(licenseId)
+                .orElseThrow(() -> new IllegalArgumentException("면허증을 찾을 수 없습니다"));
+    }
+
+    /**
+     * 조건부/구간 요청을 처리해 파일 전송
+     * @return 전송을 시작한 위치 (본문을 보내지 않았으면 -1)
+     */
+    private long send(BlobRegion region, String etag, String contentType, String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = region.length();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 개인정보이므로 공유 캐시 금지, 브라우저는 매번 ETag로 재검증 (변경 없으면 304)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return -1;
+        }
+
+        long[] range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range는 강한 비교 (약한 ETag면 항상 전체 전송)
+        if (rangeHeader != null && (ifRange == null || (ifRange.equals(etag) && !etag.startsWith("W/")))) {
+            range = parseRange(rangeHeader, length);
+            if (range == UNSATISFIABLE) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return -1;
+            }
+        }
+
+        long start = range != null ? range[0] : 0;
+        long end = range != null ? range[1] : length - 1; // 포함
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(fileName, StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(end - start + 1);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 서블릿이 반환된 뒤 Tomcat이 sendfile로 전송 (세그먼트 저장소면 세그먼트 파일의 구간)
+            request.setAttribute(SENDFILE_FILENAME, region.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, region.offset() + start);
+            request.setAttribute(SENDFILE_END, region.offset() + end + 1); // 제외
+            return start;
+        }
+
+        try (FileChannel channel = FileChannel.open(region.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = region.offset() + start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * "bytes=a-b", "bytes=a-", "bytes=-n" 형식의 단일 구간 해석
+     * @return [start, end] (end 포함), 해석할 수 없거나 여러 구간이면 null (전체 전송), 범위 밖이면 UNSATISFIABLE
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 끝에서 n 바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || end < start) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 크기와 수정 시각으로 만든 약한 검증자
+    private String weakEtag(BlobRegion region) throws IOException {
+        return "W/\"" + region.length() + "-" + Files.getLastModifiedTime(region.file()).toMillis() + "\"";
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            // If-None-Match는 약한 비교
+            if ((value.startsWith("W/") ? value.substring(2) : value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,296 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.dto.projection.LicenseFileRef;
+import com.kabb.bloodbank.dto.response.LicenseFileMigrationStatus;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 면허증 파일을 현재 저장소 구조(fan-out)로 옮기는 온라인 이전 작업
+ * - License id 기준 키셋으로 배치를 읽고, 배치 안의 파일 작업은 병렬로 처리
+ * - 새 경로에 하드 링크를 먼저 만든 뒤 filePath를 갱신하고, 커밋 후 옛 이름을 지우므로
+ *   이전 중에도 옛 경로/새 경로 어느 쪽으로 읽어도 파일이 존재
+ * - 이미 옮겨진 행은 파일 작업 없이 건너뛰므로 중단 후 다시 실행해도 안전 (lastProcessedId부터 이어서 가능)
+ */
+@Slf4j
+@Service
+public class LicenseFileMigrationService {
+
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PARALLELISM = 32;
+
+    private final LicenseRepository licenseRepository;
+    private final LicenseBlobStore licenseBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration oldPathGracePeriod;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "license-file-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Progress progress; // 아직 실행한 적 없으면 null
+
+    public LicenseFileMigrationService(LicenseRepository licenseRepository,
+                                       LicenseBlobStore licenseBlobStore,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${file.migration.old-path-grace:PT1M}") Duration oldPathGracePeriod) {
+        this.licenseRepository = licenseRepository;
+        this.licenseBlobStore = licenseBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.oldPathGracePeriod = oldPathGracePeriod;
+    }
+
+    /**
+     * 이전 작업을 백그라운드에서 시작 (동시에 하나만 실행)
+     * @param fromId 이 id 다음부터 처리 (처음부터는 0)
+     */
+    public LicenseFileMigrationStatus start(long fromId, int batchSize, int parallelism) {
+        validate(fromId, batchSize, parallelism);
+        if (!licenseBlobStore.supportsLayoutMigration()) {
+            throw new IllegalArgumentException("현재 면허증 저장소는 디렉토리 구조 이전 대상이 아닙니다");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("파일 이전 작업이 이미 실행 중입니다");
+        }
+        Progress current = new Progress(fromId);
+        progress = current;
+        coordinator.execute(() -> {
+            try {
+                migrate(current, batchSize, parallelism);
+            } catch (RuntimeException e) {
+                log.error("License file migration stopped at id {}: {}", current.lastProcessedId.get(), e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return getStatus();
+    }
+
+    /**
+     * 현재 (또는 마지막) 이전 작업 진행 상황
+     */
+    public LicenseFileMigrationStatus getStatus() {
+        Progress current = progress;
+        if (current == null) {
+            return LicenseFileMigrationStatus.builder().running(false).build();
+        }
+        return current.snapshot(running.get());
+    }
+
+    /**
+     * 호출한 스레드에서 끝까지 실행
+     */
+    LicenseFileMigrationStatus runToCompletion(long fromId, int batchSize, int parallelism) {
+        validate(fromId, batchSize, parallelism);
+        Progress local = new Progress(fromId);
+        migrate(local, batchSize, parallelism);
+        return local.snapshot(false);
+    }
+
+    private void migrate(Progress progress, int batchSize, int parallelism) {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        try {
+            while (true) {
+                List<LicenseFileRef> batch = licenseRepository.findFileRefsAfter(
+                        progress.lastProcessedId.get(), PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                migrateBatch(batch, progress, workers);
+                progress.lastProcessedId.set(batch.get(batch.size() - 1).getId());
+            }
+            log.info("License file migration finished: migrated={}, skipped={}, failed={}",
+                    progress.migrated.get(), progress.skipped.get(), progress.failed.get());
+        } finally {
+            progress.finishedAt = LocalDateTime.now();
+            workers.shutdown();
+        }
+    }
+
+    private void migrateBatch(List<LicenseFileRef> batch, Progress progress, ExecutorService workers) {
+        Instant batchStartedAt = Instant.now();
+
+        // 1. 새 경로에 링크 (병렬, DB 변경 없음)
+        List<CompletableFuture<Move>> pending = new ArrayList<>();
+        for (LicenseFileRef ref : batch) {
+            progress.scanned.incrementAndGet();
+            Path target = licenseBlobStore.resolve(ref.getStoredFileName());
+            if (target.toString().equals(ref.getFilePath())) {
+                progress.skipped.incrementAndGet();
+                continue;
+            }
+            pending.add(CompletableFuture.supplyAsync(() -> linkIntoPlace(ref, target), workers));
+        }
+
+        List<Move> moves = new ArrayList<>();
+        for (CompletableFuture<Move> future : pending) {
+            Move move = future.join();
+            if (move != null) {
+                moves.add(move);
+            } else {
+                progress.failed.incrementAndGet();
+            }
+        }
+        if (moves.isEmpty()) {
+            return;
+        }
+
+        // 2. filePath를 배치 단위 한 트랜잭션으로 갱신
+        transactionTemplate.execute(status -> {
+            for (Move move : moves) {
+                if (licenseRepository.updateFilePath(move.id(), move.oldPath(), move.newPath()) > 0) {
+                    progress.migrated.incrementAndGet();
+                } else {
+                    progress.skipped.incrementAndGet(); // 그 사이 다른 요청이 경로를 바꿈
+                }
+            }
+            return null;
+        });
+
+        // 3. 더 이상 참조하지 않는 옛 이름 삭제 (새 이름은 같은 파일을 가리키므로 내용은 유지)
+        Map<String, String> oldPaths = new LinkedHashMap<>();
+        moves.forEach(move -> oldPaths.putIfAbsent(move.oldPath(), move.storedFileName()));
+        oldPaths.forEach((oldPath, storedFileName) ->
+                removeOldPathIfUnreferenced(storedFileName, oldPath, batchStartedAt));
+    }
+
+    /**
+     * 옛 경로의 파일을 새 경로에서도 보이게 함 (하드 링크, 안 되면 복사 후 원자적 이동)
+     * @return 실패 시 null (다음 실행 때 다시 시도됨)
+     */
+    private Move linkIntoPlace(LicenseFileRef ref, Path target) {
+        Path source = Paths.get(ref.getFilePath());
+        try {
+            if (!Files.exists(target)) {
+                if (!Files.exists(source)) {
+                    log.warn("License file missing for license {}: {}", ref.getId(), source);
+                    return null;
+                }
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.createLink(target, source);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 내용 주소 파일을 다른 작업자가 먼저 연결함
+                } catch (UnsupportedOperationException | FileSystemException e) {
+                    copyIntoPlace(source, target);
+                }
+            }
+            return new Move(ref.getId(), ref.getStoredFileName(), ref.getFilePath(), target.toString());
+        } catch (IOException e) {
+            log.warn("Failed to migrate license file {} for license {}: {}", source, ref.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void copyIntoPlace(Path source, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.copy(source, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 다른 작업자가 먼저 옮김
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 옛 경로를 참조하는 행이 없으면 삭제
+     * - 중복 재사용 직후(수정 시각이 최근)인 파일은 커밋 전인 가입이 옛 경로를 쓰고 있을 수 있어 남겨 둠
+     *   (남은 이름은 같은 파일의 링크라 공간을 차지하지 않으며 고아 파일 정리에서 제거)
+     */
+    private void removeOldPathIfUnreferenced(String storedFileName, String oldPath, Instant batchStartedAt) {
+        if (licenseRepository.countByStoredFileNameAndFilePath(storedFileName, oldPath) > 0) {
+            return;
+        }
+        Path path = Paths.get(oldPath);
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            Instant modifiedAt = Files.getLastModifiedTime(path).toInstant();
+            if (modifiedAt.isAfter(batchStartedAt.minus(oldPathGracePeriod))) {
+                return;
+            }
+            Files.delete(path);
+        } catch (IOException e) {
+            log.warn("Failed to remove migrated license file {}: {}", oldPath, e.getMessage());
+        }
+    }
+
+    private void validate(long fromId, int batchSize, int parallelism) {
+        if (fromId < 0) {
+            throw new IllegalArgumentException("fromId는 0 이상이어야 합니다");
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize는 1~" + MAX_BATCH_SIZE + " 사이여야 합니다");
+        }
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("parallelism은 1~" + MAX_PARALLELISM + " 사이여야 합니다");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private record Move(Long id, String storedFileName, String oldPath, String newPath) {
+    }
+
+    private static class Progress {
+        private final AtomicLong lastProcessedId;
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong migrated = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+
+        Progress(long fromId) {
+            this.lastProcessedId = new AtomicLong(fromId);
+        }
+
+        LicenseFileMigrationStatus snapshot(boolean running) {
+            return LicenseFileMigrationStatus.builder()
+                    .running(running)
+                    .lastProcessedId(lastProcessedId.get())
+                    .scanned(scanned.get())
+                    .migrated(migrated.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
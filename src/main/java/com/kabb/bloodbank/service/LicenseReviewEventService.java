@@ -0,0 +1,335 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.response.LicenseReviewEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 관리자 면허증 심사 화면용 실시간 이벤트 (SSE)
+ * - 제출/승인/거절 시 면허증 ID와 상태만 보내고, 화면은 필요한 행만 다시 조회 (목록 전체 폴링 대체)
+ * - 연결은 서블릿 비동기 요청으로 유지하고, 발행/재전송/하트비트 순서는 스레드 하나가 정함 (연결마다 스레드를 잡지 않음)
+ * - 실제 전송은 연결별 대기열을 작은 전송 스레드 풀이 비움: 응답을 읽지 않는 연결이 다른 관리자에게 가는 전송을 막지 않고,
+ *   대기열이 max-pending-events를 넘으면 그 연결을 끊음 (브라우저는 재연결 후 Last-Event-ID로 이어 받음)
+ * - 최근 이벤트를 메모리에 replay-capacity개까지 보관해 재연결 시 Last-Event-ID 이후 이벤트를 다시 보냄
+ * - 보관 범위를 벗어났거나 서버가 재시작된 경우 reset 이벤트를 보내 화면이 목록을 새로 조회하게 함
+ * - 이벤트는 트랜잭션 커밋 후 발행 (롤백된 변경은 보내지 않음)
+ */
+@Slf4j
+@Service
+public class LicenseReviewEventService {
+
+    static final String LICENSE_EVENT = "license";
+    static final String RESET_EVENT = "reset";
+    private static final long RECONNECT_MILLIS = 3000;
+    private static final long BUSY_RECONNECT_MILLIS = 30000;
+
+    private final int replayCapacity;
+    private final long emitterTimeoutMillis;
+    private final int maxSubscribers;
+    private final int maxPendingEvents;
+    private final Executor dispatcher;
+    private final Executor sender;
+    // 이벤트 ID = "<기동 시각>-<순번>", 재시작 전 ID로 재연결하면 reset
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 아래 두 필드는 dispatcher 스레드에서만 접근
+    private final Deque<BufferedEvent> replayBuffer = new ArrayDeque<>();
+    private long lastSequence;
+
+    @Autowired
+    public LicenseReviewEventService(MeterRegistry meterRegistry,
+                                     @Value("${license.events.replay-capacity:1000}") int replayCapacity,
+                                     @Value("${license.events.timeout:1800000}") long emitterTimeoutMillis,
+                                     @Value("${license.events.max-subscribers:200}") int maxSubscribers,
+                                     @Value("${license.events.max-pending-events:100}") int maxPendingEvents,
+                                     @Value("${license.events.sender-threads:4}") int senderThreads) {
+        this(meterRegistry, replayCapacity, emitterTimeoutMillis, maxSubscribers, maxPendingEvents,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "license-review-events");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                Executors.newFixedThreadPool(senderThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "license-review-events-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    LicenseReviewEventService(MeterRegistry meterRegistry, int replayCapacity, long emitterTimeoutMillis,
+                              int maxSubscribers, int maxPendingEvents, Executor dispatcher, Executor sender) {
+        if (replayCapacity < 1) {
+            throw new IllegalArgumentException("license.events.replay-capacity must be positive");
+        }
+        if (maxPendingEvents < 1) {
+            throw new IllegalArgumentException("license.events.max-pending-events must be positive");
+        }
+        this.replayCapacity = replayCapacity;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingEvents = maxPendingEvents;
+        this.dispatcher = dispatcher;
+        this.sender = sender;
+
+        Gauge.builder("license.events.subscribers", subscribers, Set::size)
+                .description("Admin review-queue SSE connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독 시작
+     * @param lastEventId 재연결 시 브라우저가 보내는 Last-Event-ID (처음 연결이면 null)
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        if (subscribers.size() >= maxSubscribers) {
+            // 연결 수 초과: 재연결 간격만 길게 알려주고 종료 (EventSource가 나중에 다시 시도)
+            try {
+                emitter.send(SseEmitter.event().reconnectTime(BUSY_RECONNECT_MILLIS).comment("busy"));
+            } catch (IOException e) {
+                // 응답 전이므로 전송 실패는 무시
+            }
+            emitter.complete();
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // 재전송과 등록을 발행과 같은 스레드에서 처리해 빠지거나 순서가 바뀌는 이벤트가 없음
+        dispatch(() -> {
+            subscribers.add(subscriber);
+            replay(subscriber, lastEventId);
+        });
+        return emitter;
+    }
+
+    /**
+     * 면허증 상태 변경 알림 (트랜잭션 안이면 커밋 후 발행)
+     * @param approvalStatus 바뀐 상태 (PENDING이면 새 제출)
+     */
+    public void publish(ApprovalStatus approvalStatus, Long licenseId, Long userId) {
+        LicenseReviewEvent event = LicenseReviewEvent.builder()
+                .licenseId(licenseId)
+                .userId(userId)
+                .approvalStatus(approvalStatus)
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(() -> deliver(event));
+                }
+            });
+        } else {
+            dispatch(() -> deliver(event));
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 줄 전송 (끊긴 연결 정리도 겸함)
+     */
+    @Scheduled(fixedDelayString = "${license.events.heartbeat-interval:15000}",
+            initialDelayString = "${license.events.heartbeat-interval:15000}")
+    public void heartbeat() {
+        dispatch(() -> subscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * lastEventId 이후 보관 중인 이벤트 (보관 범위를 벗어났거나 다른 기동의 ID면 empty, dispatcher 스레드에서 호출)
+     */
+    Optional<List<LicenseReviewEvent>> eventsAfter(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return Optional.of(List.of()); // 처음 연결: 목록은 화면이 직접 조회
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return Optional.empty();
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        long oldest = replayBuffer.isEmpty() ? lastSequence + 1 : replayBuffer.peekFirst().sequence();
+        if (sequence > lastSequence || sequence < oldest - 1) {
+            return Optional.empty();
+        }
+
+        List<LicenseReviewEvent> missed = new ArrayList<>();
+        for (BufferedEvent buffered : replayBuffer) {
+            if (buffered.sequence() > sequence) {
+                missed.add(buffered.event());
+            }
+        }
+        return Optional.of(missed);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        enqueue(subscriber, SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+        Optional<List<LicenseReviewEvent>> missed = eventsAfter(lastEventId);
+        if (missed.isEmpty()) {
+            // ID는 최신 이벤트로 맞춰, 목록을 새로 조회한 뒤 다음 재연결은 여기서부터 이어짐
+            enqueue(subscriber, SseEmitter.event().id(eventId(lastSequence)).name(RESET_EVENT).data(""));
+            return;
+        }
+        long sequence = lastSequence - missed.get().size();
+        for (LicenseReviewEvent event : missed.get()) {
+            enqueue(subscriber, licenseEvent(++sequence, event));
+        }
+    }
+
+    private void deliver(LicenseReviewEvent event) {
+        long sequence = ++lastSequence;
+        replayBuffer.addLast(new BufferedEvent(sequence, event));
+        if (replayBuffer.size() > replayCapacity) {
+            replayBuffer.removeFirst();
+        }
+        subscribers.forEach(subscriber -> enqueue(subscriber, licenseEvent(sequence, event)));
+    }
+
+    private SseEmitter.SseEventBuilder licenseEvent(long sequence, LicenseReviewEvent event) {
+        return SseEmitter.event().id(eventId(sequence)).name(LICENSE_EVENT).data(event);
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * 연결별 대기열에 추가하고 비우는 작업이 없으면 전송 스레드에 맡김 (dispatcher 스레드에서 호출)
+     * 대기열이 가득 찬 연결은 응답을 읽지 않는 것으로 보고 구독 해제
+     */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        boolean startDrain;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.pending.size() >= maxPendingEvents) {
+                subscriber.closed = true;
+                subscriber.pending.clear();
+                subscribers.remove(subscriber);
+                log.debug("Dropping slow license review event subscriber ({} events pending)", maxPendingEvents);
+            } else {
+                subscriber.pending.addLast(event);
+            }
+            startDrain = !subscriber.draining;
+            subscriber.draining = true;
+        }
+        if (startDrain) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                log.debug("License review event sender is shut down");
+            }
+        }
+    }
+
+    /**
+     * 대기열을 순서대로 전송 (전송 스레드에서 실행, 연결마다 동시에 하나만)
+     * 끊긴 연결의 종료도 여기서 처리해, 쓰기가 막힌 연결 때문에 dispatcher 스레드가 멈추지 않음
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            boolean closed;
+            synchronized (subscriber) {
+                closed = subscriber.closed;
+                event = closed ? null : subscriber.pending.pollFirst();
+                if (event == null) {
+                    subscriber.draining = false;
+                }
+            }
+            if (closed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            if (event == null) {
+                return;
+            }
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                synchronized (subscriber) {
+                    subscriber.closed = true;
+                    subscriber.pending.clear();
+                    subscriber.draining = false;
+                }
+                subscribers.remove(subscriber);
+                log.debug("Dropping license review event subscriber: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("License review event dispatcher is shut down");
+        }
+    }
+
+    private record BufferedEvent(long sequence, LicenseReviewEvent event) {
+    }
+
+    /**
+     * 연결 하나와 아직 보내지 못한 이벤트 (pending/draining/closed는 이 객체로 동기화)
+     */
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
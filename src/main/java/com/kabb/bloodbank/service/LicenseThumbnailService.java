@@ -0,0 +1,237 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.storage.BlobRegion;
+import com.kabb.bloodbank.storage.LicenseBlobStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 면허증 썸네일 생성 (승인 대기 목록용)
+ * - 업로드 후 별도 작업 스레드에서 이미지는 축소, PDF는 첫 페이지를 래스터화해 JPEG로 저장
+ * - 썸네일은 원본과 같은 디렉토리에 "<저장 파일명>.thumb.jpg"로 두므로 내용 주소 저장소에서는 같은 내용의 썸네일도 하나
+ * - 큐가 가득 차면 건너뛰고, 목록 조회 시 없는 썸네일을 다시 요청
+ * - ImageIO가 읽지 못하는 형식(HEIC 등)은 썸네일 없이 원본 조회로 대체
+ */
+@Slf4j
+@Service
+public class LicenseThumbnailService {
+
+    static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final LicenseBlobStore licenseBlobStore;
+    private final int maxDimension;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet(); // 같은 파일 중복 요청 방지
+
+    public LicenseThumbnailService(LicenseBlobStore licenseBlobStore,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${file.thumbnail.threads:2}") int threads,
+                                   @Value("${file.thumbnail.queue-capacity:500}") int queueCapacity,
+                                   @Value("${file.thumbnail.max-dimension:320}") int maxDimension) {
+        this.licenseBlobStore = licenseBlobStore;
+        this.maxDimension = maxDimension;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "license-thumbnail-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY); // 요청 처리 스레드보다 뒤로
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("license.thumbnail.queue.depth", executor, e -> e.getQueue().size())
+                .description("Thumbnail renders waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 썸네일이 없으면 백그라운드 생성 요청 (즉시 반환)
+     */
+    public void requestThumbnail(String storedFileName, String location, String contentType) {
+        if (findThumbnail(storedFileName).isPresent() || !inFlight.add(storedFileName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(storedFileName, location, contentType);
+                } finally {
+                    inFlight.remove(storedFileName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(storedFileName);
+            log.debug("Thumbnail queue full, skipping {}", storedFileName);
+        }
+    }
+
+    /**
+     * 생성된 썸네일 경로
+     */
+    public Optional<Path> findThumbnail(String storedFileName) {
+        Path path = thumbnailPath(storedFileName);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * 호출한 스레드에서 썸네일 생성
+     * @return 생성했으면 true (지원하지 않는 형식이거나 실패하면 false)
+     */
+    boolean generate(String storedFileName, String location, String contentType) {
+        try {
+            Optional<BlobRegion> region = licenseBlobStore.locate(storedFileName, location);
+            if (region.isEmpty()) {
+                return false;
+            }
+            BufferedImage rendered;
+            try (InputStream source = licenseBlobStore.openStream(region.get())) {
+                rendered = "application/pdf".equals(contentType) ? renderPdf(source) : readImage(source);
+            }
+            if (rendered == null) {
+                return false;
+            }
+            write(fit(rendered), thumbnailPath(storedFileName));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to render thumbnail for {}: {}", storedFileName, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path thumbnailPath(String storedFileName) {
+        return licenseBlobStore.resolve(storedFileName + THUMBNAIL_SUFFIX);
+    }
+
+    /**
+     * PDF 첫 페이지를 썸네일 크기에 맞는 배율로 바로 렌더링 (원본 해상도로 그린 뒤 줄이지 않음)
+     */
+    private BufferedImage renderPdf(InputStream source) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(source))) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = document.getPage(0).getCropBox();
+            float scale = maxDimension / Math.max(box.getWidth(), box.getHeight()); // 1pt = 1px 기준
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+
+    /**
+     * 이미지를 서브샘플링으로 읽음 (큰 스캔본을 전체 해상도로 메모리에 올리지 않음)
+     */
+    private BufferedImage readImage(InputStream source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (maxDimension * 2)); // 축소 품질을 위해 목표의 2배까지만 줄여 읽음
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage fit(BufferedImage source) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE); // 투명 PNG 배경
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 같은 디렉토리의 임시 파일에 쓴 뒤 원자적으로 교체 (읽는 쪽이 반쯤 쓰인 파일을 보지 않도록)
+     */
+    private void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,125 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.exception.TooManyRequestsException;
+import com.kabb.bloodbank.util.ExactWindowCounter;
+import com.kabb.bloodbank.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 로그인 실패 횟수 기반 무차별 대입 차단
+ * - 이메일별, IP별 슬라이딩 윈도우 실패 횟수가 한도를 넘으면 사용자 조회와 BCrypt 검증 전에 거부
+ * - 이메일은 한도가 작아(기본 5) 근사 카운터의 충돌 오차만으로 넘을 수 있으므로 키 수 상한이 있는 정확한 카운터 사용
+ *   (대량의 서로 다른 이메일로 시도해도 무관한 사용자가 차단되지 않음)
+ * - IP는 한도가 커서 count-min sketch를 쓰되, 윈도우당 예상 실패 수에서도 오차가 한도의 절반을 넘지 않게 크기를 정함
+ * - IP는 request.getRemoteAddr() 기준 (프록시 뒤라면 server.forward-headers-strategy=native로 신뢰하는 프록시의
+ *   X-Forwarded-For만 반영), IPv6는 /64 단위로 묶음
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private final ExactWindowCounter emailFailures;
+    private final SlidingWindowCounter ipFailures;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Clock clock;
+    private final Counter emailThrottledCounter;
+    private final Counter ipThrottledCounter;
+
+    public LoginThrottleService(MeterRegistry meterRegistry,
+                                @Value("${security.login-throttle.window-seconds:300}") long windowSeconds,
+                                @Value("${security.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                                @Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                @Value("${security.login-throttle.max-tracked-emails:100000}") long maxTrackedEmails,
+                                @Value("${security.login-throttle.expected-failures-per-window:1000000}") long expectedFailures) {
+        this(meterRegistry, windowSeconds, maxFailuresPerEmail, maxFailuresPerIp, maxTrackedEmails, expectedFailures,
+                Clock.systemUTC());
+    }
+
+    LoginThrottleService(MeterRegistry meterRegistry,
+                         long windowSeconds,
+                         int maxFailuresPerEmail,
+                         int maxFailuresPerIp,
+                         long maxTrackedEmails,
+                         long expectedFailures,
+                         Clock clock) {
+        long windowMillis = windowSeconds * 1000L;
+        this.emailFailures = new ExactWindowCounter(maxTrackedEmails, windowMillis);
+        this.ipFailures = new SlidingWindowCounter(
+                SlidingWindowCounter.widthFor(expectedFailures, maxFailuresPerIp / 2.0), SKETCH_DEPTH, windowMillis);
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.clock = clock;
+        this.emailThrottledCounter = Counter.builder("login.throttled")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.ipThrottledCounter = Counter.builder("login.throttled")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로그인 시도 허용 여부 확인 (한도 초과 시 TooManyRequestsException)
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = clock.millis();
+        if (email != null && emailFailures.estimate(normalize(email), now) >= maxFailuresPerEmail) {
+            emailThrottledCounter.increment();
+            throw throttled(emailFailures.millisUntilNextWindow(now));
+        }
+        if (clientIp != null && ipFailures.estimate(ipKey(clientIp), now) >= maxFailuresPerIp) {
+            ipThrottledCounter.increment();
+            throw throttled(ipFailures.millisUntilNextWindow(now));
+        }
+    }
+
+    /**
+     * 로그인 실패 기록
+     */
+    public void recordFailure(String email, String clientIp) {
+        long now = clock.millis();
+        if (email != null) {
+            emailFailures.increment(normalize(email), now);
+        }
+        if (clientIp != null) {
+            ipFailures.increment(ipKey(clientIp), now);
+        }
+    }
+
+    private TooManyRequestsException throttled(long millisUntilNextWindow) {
+        long retryAfterSeconds = Math.max(1L, (millisUntilNextWindow + 999) / 1000);
+        return new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요", retryAfterSeconds);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * IPv6는 한 사용자가 /64 대역 전체를 쓸 수 있으므로 상위 64비트로 묶음
+     */
+    static String ipKey(String clientIp) {
+        if (clientIp.indexOf(':') < 0) {
+            return clientIp;
+        }
+        try {
+            byte[] address = InetAddress.getByName(clientIp).getAddress(); // 주소 리터럴이므로 DNS 조회 없음
+            if (address.length == 16) {
+                return HexFormat.of().formatHex(address, 0, 8) + "::/64";
+            }
+        } catch (UnknownHostException e) {
+            // 형식이 맞지 않으면 그대로 사용
+        }
+        return clientIp;
+    }
+}
@@ -0,0 +1,193 @@
+package com.kabb.bloodbank.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.domain.entity.RefreshToken;
+import com.kabb.bloodbank.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 관리
+ * - 불투명(opaque) 랜덤 토큰을 발급하고 DB에는 SHA-256 해시만 저장
+ * - 사용할 때마다 새 토큰으로 교체(로테이션)
+ * - 이미 사용된 토큰이 다시 제출되면 탈취로 보고 같은 계열 전체와 사용자의 액세스 토큰을 폐기
+ * - 단, 사용 직후 유예 시간(jwt.refresh-token-reuse-grace) 안의 재제출은 여러 탭의 동시 갱신으로 보고
+ *   그 토큰으로 이미 발급한 다음 토큰을 돌려줌 (이 노드에 기록이 없으면 재사용으로 처리, 새 토큰은 발급하지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    // 사용된 토큰 해시 → 그때 발급한 다음 토큰 원문 (유예 시간 안의 재제출에만 쓰므로 짧게 보관)
+    private final Cache<String, String> recentSuccessors = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * 로그인 시 새 계열의 리프레시 토큰 발급
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰 로테이션
+     * 재사용이 감지되면 폐기 처리를 커밋한 뒤 예외를 던진다
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public RotationResult rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken current = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            throw new IllegalArgumentException("폐기된 리프레시 토큰입니다. 다시 로그인해주세요");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new IllegalArgumentException("만료된 리프레시 토큰입니다. 다시 로그인해주세요");
+        }
+
+        // 조건부 UPDATE로 사용 처리: 동시에 같은 토큰이 제출되어도 하나만 성공
+        if (current.getUsedAt() == null && refreshTokenRepository.markUsed(current.getId(), now) == 1) {
+            String nextToken = create(current.getUserId(), current.getFamilyId());
+            rememberSuccessor(tokenHash, nextToken);
+            return new RotationResult(current.getUserId(), nextToken);
+        }
+
+        // UPDATE가 졌으면 다른 요청이 사용했거나 로그아웃/재사용 감지로 계열이 폐기된 것이므로 최신 상태를 다시 읽음
+        RefreshToken latest = current.getUsedAt() != null
+                ? current
+                : refreshTokenRepository.findByIdForUpdate(current.getId())
+                        .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다"));
+        if (latest.getRevokedAt() != null) {
+            throw new IllegalArgumentException("폐기된 리프레시 토큰입니다. 다시 로그인해주세요");
+        }
+
+        // 유예 시간 안이면 이 토큰으로 이미 발급한 다음 토큰만 돌려줌
+        String successor = recentSuccessors.getIfPresent(tokenHash);
+        if (successor != null && latest.getUsedAt() != null && isWithinReuseGrace(latest.getUsedAt(), now)) {
+            return new RotationResult(latest.getUserId(), successor);
+        }
+
+        log.warn("Refresh token reuse detected: userId={}, familyId={}", latest.getUserId(), latest.getFamilyId());
+        refreshTokenRepository.revokeFamily(latest.getFamilyId(), now);
+        tokenRevocationService.revokeAllSessions(latest.getUserId());
+        throw new IllegalArgumentException("이미 사용된 리프레시 토큰입니다. 다시 로그인해주세요");
+    }
+
+    /**
+     * 리프레시 토큰이 속한 계열 폐기 (로그아웃)
+     * @param userId 로그아웃하는 사용자 (다른 사용자의 토큰이면 무시)
+     */
+    @Transactional
+    public void revoke(String rawToken, Long userId) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(token -> token.getUserId().equals(userId))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * 사용자의 모든 리프레시 토큰 폐기
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    /**
+     * 만료된 리프레시 토큰 정리
+     */
+    @Transactional
+    @Scheduled(cron = "${jwt.refresh-token-cleanup-cron:0 30 4 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private boolean isWithinReuseGrace(LocalDateTime usedAt, LocalDateTime now) {
+        return usedAt.isAfter(now.minus(Duration.ofMillis(jwtProperties.getRefreshTokenReuseGrace())));
+    }
+
+    /**
+     * 커밋된 다음 토큰만 돌려주도록 커밋 후 기록
+     */
+    private void rememberSuccessor(String tokenHash, String nextToken) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentSuccessors.put(tokenHash, nextToken);
+                }
+            });
+        } else {
+            recentSuccessors.put(tokenHash, nextToken);
+        }
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtProperties.getRefreshTokenExpiration())))
+                .build());
+
+        return rawToken;
+    }
+
+    /**
+     * 256비트 랜덤 토큰이므로 느린 해시 없이 SHA-256으로 충분
+     */
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 로테이션 결과
+     */
+    @lombok.Getter
+    @lombok.AllArgsConstructor
+    public static class RotationResult {
+        private final Long userId;
+        private final String refreshToken;
+    }
+}
@@ -0,0 +1,160 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.dto.request.SignUpRequest;
+import com.kabb.bloodbank.dto.response.SignUpResponse;
+import com.kabb.bloodbank.util.MultipartStreamParser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 스트리밍 회원가입
+ * - 멀티파트 본문을 직접 파싱해 면허증 파트를 임시 파일 없이 저장 위치에 한 번만 기록
+ * - 텍스트 필드는 작은 크기로 제한해 메모리에 읽고, 기존 SignUpRequest 검증 규칙을 그대로 적용
+ */
+@Service
+@RequiredArgsConstructor
+public class StreamingSignUpService {
+
+    private static final String LICENSE_FIELD = "licenseFile";
+    private static final int MAX_FIELD_BYTES = 4 * 1024;
+    private static final int MAX_FIELDS = 32;
+    private static final long MAX_REQUEST_BYTES = 11 * 1024 * 1024; // 파일 10MB + 필드/헤더 여유
+
+    private final FileStorageService fileStorageService;
+    private final UserService userService;
+    private final Validator validator;
+
+    /**
+     * 멀티파트 요청 본문으로 회원가입 처리
+     */
+    public SignUpResponse signUp(HttpServletRequest httpRequest) throws IOException {
+        String boundary = MultipartStreamParser.extractBoundary(httpRequest.getContentType());
+        if (boundary == null) {
+            throw new IllegalArgumentException("multipart/form-data 요청만 지원합니다");
+        }
+        if (httpRequest.getContentLengthLong() > MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("파일 크기는 10MB를 초과할 수 없습니다");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        FileStorageService.FileStorageResult fileResult = null;
+        SignUpRequest request;
+        try {
+            InputStream body = new LimitedInputStream(httpRequest.getInputStream(), MAX_REQUEST_BYTES);
+            MultipartStreamParser parser = new MultipartStreamParser(body, boundary);
+            MultipartStreamParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+                if (part.isFile()) {
+                    if (!LICENSE_FIELD.equals(part.getName()) || fileResult != null) {
+                        throw new IllegalArgumentException("면허증 파일 하나만 업로드할 수 있습니다");
+                    }
+                    fileResult = fileStorageService.stageLicenseStream(
+                            part.getBody(), part.getFileName(), part.getContentType());
+                } else if (part.getName() != null) {
+                    if (fields.size() >= MAX_FIELDS) {
+                        throw new IllegalArgumentException("입력 항목이 너무 많습니다");
+                    }
+                    fields.put(part.getName(), part.readString(MAX_FIELD_BYTES));
+                }
+            }
+
+            if (fileResult == null) {
+                throw new IllegalArgumentException("면허증 파일은 필수입니다");
+            }
+            request = toRequest(fields);
+            validate(request);
+        } catch (IOException | RuntimeException e) {
+            if (fileResult != null) {
+                fileStorageService.discardStaged(fileResult);
+            }
+            throw e;
+        }
+
+        return userService.signUpWithStagedLicense(request, fileResult, httpRequest);
+    }
+
+    private SignUpRequest toRequest(Map<String, String> fields) {
+        return SignUpRequest.builder()
+                .email(fields.get("email"))
+                .password(fields.get("password"))
+                .name(fields.get("name"))
+                .phone(fields.get("phone"))
+                .hospitalName(fields.get("hospitalName"))
+                .hospitalAddress(fields.get("hospitalAddress"))
+                .hospitalPhone(fields.get("hospitalPhone"))
+                .businessNumber(fields.get("businessNumber"))
+                .privacyPolicyAgreed(parseBoolean(fields.get("privacyPolicyAgreed")))
+                .termsOfServiceAgreed(parseBoolean(fields.get("termsOfServiceAgreed")))
+                .sensitiveInfoAgreed(parseBoolean(fields.get("sensitiveInfoAgreed")))
+                .build();
+    }
+
+    /**
+     * SignUpRequest 검증 (파일은 이미 스트리밍으로 저장했으므로 licenseFile 항목 제외)
+     */
+    private void validate(SignUpRequest request) {
+        for (ConstraintViolation<SignUpRequest> violation : validator.validate(request)) {
+            if (!LICENSE_FIELD.equals(violation.getPropertyPath().toString())) {
+                throw new IllegalArgumentException(violation.getMessage());
+            }
+        }
+    }
+
+    // 스프링 데이터 바인딩과 같은 값(true/on/yes/1)을 참으로 처리
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.equals("true") || normalized.equals("on")
+                || normalized.equals("yes") || normalized.equals("1");
+    }
+
+    /**
+     * 요청 본문 전체 크기 상한 (Content-Length 없는 chunked 요청 대비)
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(int n) {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new IllegalArgumentException("파일 크기는 10MB를 초과할 수 없습니다");
+            }
+        }
+    }
+}
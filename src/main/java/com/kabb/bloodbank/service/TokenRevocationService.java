@@ -0,0 +1,175 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.domain.entity.TokenRevocation;
+import com.kabb.bloodbank.domain.enums.RevocationScope;
+import com.kabb.bloodbank.repository.TokenRevocationRepository;
+import com.kabb.bloodbank.security.JwtPrincipal;
+import com.kabb.bloodbank.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토큰 폐기(로그아웃) 관리
+ * - 단일 토큰 폐기: jti를 DB에 저장하고 메모리 블룸 필터에 추가
+ *   대부분의 토큰은 블룸 필터에서 바로 통과하고, 필터가 "있을 수 있음"이라고 답할 때만 DB 확인
+ * - 사용자 전체 세션 폐기: 사용자별 기준 시각 이전에 발급된 토큰을 모두 거부
+ * - 다른 노드의 폐기 내역은 주기적으로 워터마크 이후에 생성된 기록만 읽어 반영
+ * - 만료된 폐기 기록은 주기적으로 삭제하고 블룸 필터를 처음부터 다시 만든다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.001;
+    // 노드 간 시계 차이와 커밋 지연을 덮기 위해 워터마크보다 조금 앞에서부터 다시 읽음 (같은 기록을 다시 반영해도 결과는 같음)
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JwtProperties jwtProperties;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    private final Object rebuildLock = new Object();
+    private volatile BloomFilter revokedTokenFilter;
+    private volatile Map<Long, Instant> userCutoffs = new ConcurrentHashMap<>();
+    private LocalDateTime watermark; // rebuildLock 안에서만 접근
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 단일 토큰 폐기
+     */
+    public void revokeToken(JwtPrincipal principal) {
+        if (principal.getTokenId() == null) {
+            // jti가 없는 이전 버전 토큰은 개별 폐기가 불가능하므로 사용자 전체 세션 폐기
+            revokeAllSessions(principal.getUserId());
+            return;
+        }
+
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .scope(RevocationScope.TOKEN)
+                .jti(principal.getTokenId())
+                .userId(principal.getUserId())
+                .expiresAt(toLocalDateTime(principal.getExpiresAt()))
+                .build());
+
+        synchronized (rebuildLock) {
+            revokedTokenFilter.put(principal.getTokenId());
+        }
+    }
+
+    /**
+     * 사용자의 모든 세션 폐기 (현재 시각 이전에 발급된 토큰 모두 거부)
+     * - 발급 시각은 밀리초 단위(iat_ms)로 비교하므로 폐기 직후 다시 로그인한 토큰은 유효
+     */
+    public void revokeAllSessions(Long userId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant expiresAt = cutoff.plusMillis(jwtProperties.getAccessTokenExpiration());
+
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .scope(RevocationScope.USER)
+                .userId(userId)
+                .revokedBefore(toLocalDateTime(cutoff))
+                .expiresAt(toLocalDateTime(expiresAt))
+                .build());
+
+        synchronized (rebuildLock) {
+            userCutoffs.merge(userId, cutoff, (current, added) -> current.isAfter(added) ? current : added);
+        }
+    }
+
+    /**
+     * 폐기 여부 확인 (요청마다 호출되므로 일반적인 경우 DB 접근 없음)
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        Instant cutoff = userCutoffs.get(principal.getUserId());
+        if (cutoff != null && (principal.getIssuedAt() == null || principal.getIssuedAt().isBefore(cutoff))) {
+            return true;
+        }
+
+        String tokenId = principal.getTokenId();
+        if (tokenId == null || !revokedTokenFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return tokenRevocationRepository.existsByJti(tokenId);
+    }
+
+    /**
+     * 마지막 조회 이후 생성된 폐기 기록만 읽어 반영 (다른 노드의 폐기 내역)
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:30000}",
+            initialDelayString = "${jwt.revocation.refresh-interval:30000}")
+    public void refresh() {
+        synchronized (rebuildLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<TokenRevocation> added = tokenRevocationRepository.findByCreatedAtAfter(watermark.minus(REFRESH_OVERLAP));
+            apply(added, revokedTokenFilter, userCutoffs);
+            watermark = now;
+        }
+    }
+
+    /**
+     * DB 기준으로 블룸 필터와 사용자별 기준 시각을 처음부터 다시 만든다
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtAfter(now);
+
+            BloomFilter filter = BloomFilter.create(Math.max(expectedRevocations, active.size() * 2L), BLOOM_FALSE_POSITIVE_RATE);
+            Map<Long, Instant> cutoffs = new ConcurrentHashMap<>();
+            apply(active, filter, cutoffs);
+
+            revokedTokenFilter = filter;
+            userCutoffs = cutoffs;
+            watermark = now;
+        }
+    }
+
+    /**
+     * 만료된 폐기 기록 정리 (블룸 필터는 삭제를 지원하지 않으므로 정리 후 다시 만든다)
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.compaction-interval:600000}",
+            initialDelayString = "${jwt.revocation.compaction-interval:600000}")
+    public void compact() {
+        int deleted = tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+        if (deleted > 0) {
+            log.info("Compacted {} expired token revocations", deleted);
+        }
+    }
+
+    private static void apply(List<TokenRevocation> revocations, BloomFilter filter, Map<Long, Instant> cutoffs) {
+        for (TokenRevocation revocation : revocations) {
+            if (revocation.getScope() == RevocationScope.TOKEN) {
+                filter.put(revocation.getJti());
+            } else {
+                Instant cutoff = revocation.getRevokedBefore().atZone(ZoneId.systemDefault()).toInstant();
+                cutoffs.merge(revocation.getUserId(), cutoff, (current, added) -> current.isAfter(added) ? current : added);
+            }
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
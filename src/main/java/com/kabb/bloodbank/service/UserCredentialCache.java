@@ -0,0 +1,95 @@
+package com.kabb.bloodbank.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kabb.bloodbank.dto.projection.UserCredentials;
+import com.kabb.bloodbank.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 이메일별 로그인 인증 정보 캐시
+ * - 적중 시 로그인에 DB 조회가 없고, 실패 시에도 조인 없는 프로젝션 한 번만 조회
+ * - 존재하지 않는 이메일은 저장하지 않아 임의 이메일 대입으로 캐시가 밀려나지 않음
+ * - 승인/거절, 비활성화, 비밀번호 재해시 시 invalidate (TTL은 누락 대비 안전장치)
+ * - 키는 앞뒤 공백을 없앤 소문자 이메일 (운영 DB 콜레이션처럼 대소문자 구분 없이 같은 사용자로 보고 같은 항목을 제거)
+ * - invalidate는 이 노드의 캐시만 지우므로 다른 노드의 변경은 TTL(기본 1분) 안에 반영됨
+ *   (비활성화 시 기존 토큰은 revokeAllSessions가 모든 노드에서 거부)
+ * - 적중/실패 횟수는 cache.gets{cache=auth.user-credentials} 메트릭으로 노출
+ */
+@Component
+public class UserCredentialCache {
+
+    static final String CACHE_NAME = "auth.user-credentials";
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserCredentials> cache;
+
+    public UserCredentialCache(UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.credential-cache.max-entries:10000}") long maxEntries,
+                               @Value("${security.credential-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 이메일로 인증 정보 조회 (캐시 우선)
+     */
+    public Optional<UserCredentials> get(String email) {
+        String key = key(email);
+        UserCredentials cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserCredentials> loaded = userRepository.findCredentialsByEmail(email.trim());
+        loaded.ifPresent(credentials -> cache.put(key, credentials));
+        return loaded;
+    }
+
+    /**
+     * 캐시 항목 제거
+     * - 트랜잭션 안에서 호출되면 커밋 후 한 번 더 제거해, 커밋 전 다른 로그인이 옛 값을 다시 넣는 경우를 막음
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = key(email);
+        cache.invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * 전체 캐시 비우기 (사용자 일괄 삭제 등)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
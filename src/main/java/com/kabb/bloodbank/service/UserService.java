@@ -5,18 +5,26 @@ import com.kabb.bloodbank.domain.enums.AgreementType;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
 import com.kabb.bloodbank.domain.enums.AuditActionType;
 import com.kabb.bloodbank.domain.enums.UserRole;
+import com.kabb.bloodbank.dto.projection.UserCredentials;
 import com.kabb.bloodbank.dto.request.LoginRequest;
+import com.kabb.bloodbank.dto.request.RefreshTokenRequest;
 import com.kabb.bloodbank.dto.request.SignUpRequest;
 import com.kabb.bloodbank.dto.response.LoginResponse;
 import com.kabb.bloodbank.dto.response.SignUpResponse;
+import com.kabb.bloodbank.security.JwtPrincipal;
 import com.kabb.bloodbank.util.JwtUtil;
 import com.kabb.bloodbank.repository.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
@@ -26,28 +34,97 @@ public class UserService {
     private final LicenseRepository licenseRepository;
     private final AgreementRepository agreementRepository;
     private final FileStorageService fileStorageService;
+    private final LicenseThumbnailService licenseThumbnailService;
     private final AuditLogService auditLogService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottleService loginThrottleService;
+    private final UserCredentialCache userCredentialCache;
+    private final TransactionTemplate transactionTemplate;
+    private final LicenseReviewEventService licenseReviewEventService;
 
     /**
      * 회원가입 처리
+     * - 파일은 트랜잭션 전에 임시 저장하고, DB 기록만 짧은 트랜잭션으로 처리한 뒤 커밋 후 최종 위치로 이동
      */
-    @Transactional
     public SignUpResponse signUp(SignUpRequest request, HttpServletRequest httpRequest) throws Exception {
         // 1. 이메일 중복 확인
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("이미 등록된 이메일입니다");
         }
 
-        // 2. 비밀번호 암호화
-        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        // 2. 면허증 파일 임시 저장 (커넥션을 잡기 전에 디스크 쓰기 완료)
+        FileStorageService.FileStorageResult fileResult = fileStorageService.stageLicenseFile(request.getLicenseFile());
 
-        // 3. 면허증 파일 저장
-        FileStorageService.FileStorageResult fileResult = fileStorageService.storeLicenseFile(request.getLicenseFile());
+        return completeSignUp(request, fileResult, httpRequest);
+    }
 
-        // 4. 사용자 생성
+    /**
+     * 이미 임시 저장된 면허증 파일로 회원가입 처리 (스트리밍 업로드 경로)
+     */
+    public SignUpResponse signUpWithStagedLicense(SignUpRequest request,
+                                                  FileStorageService.FileStorageResult fileResult,
+                                                  HttpServletRequest httpRequest) {
+        if (userRepository.existsByEmail(request.getEmail())) {
+            fileStorageService.discardStaged(fileResult);
+            throw new IllegalArgumentException("이미 등록된 이메일입니다");
+        }
+        return completeSignUp(request, fileResult, httpRequest);
+    }
+
+    private SignUpResponse completeSignUp(SignUpRequest request,
+                                          FileStorageService.FileStorageResult fileResult,
+                                          HttpServletRequest httpRequest) {
         String clientIp = getClientIpAddress(httpRequest);
+        User user;
+        try {
+            // 3. 비밀번호 암호화
+            String encodedPassword = passwordHashingService.encode(request.getPassword());
+
+            // 4~8. 사용자/병원/면허증/동의/감사 로그 기록 (단일 트랜잭션)
+            user = transactionTemplate.execute(status ->
+                    saveSignUp(request, encodedPassword, fileResult, clientIp, httpRequest));
+        } catch (RuntimeException e) {
+            fileStorageService.discardStaged(fileResult);
+            throw e;
+        }
+
+        // 9. 커밋 후 파일을 최종 위치로 이동
+        try {
+            fileStorageService.promote(fileResult);
+        } catch (IOException e) {
+            // 가입은 이미 커밋되었으므로 실패로 응답하지 않음 (License.stagedFileName으로 정리 작업이 이어서 이동)
+            log.error("Failed to promote license upload for user {} (staged at {}), cleanup will retry: {}",
+                    user.getId(), fileResult.getStagedPath(), e.getMessage());
+        }
+        if (fileResult.getStagedPath() == null) {
+            // 관리자 승인 목록용 썸네일은 백그라운드에서 생성
+            licenseThumbnailService.requestThumbnail(
+                    fileResult.getStoredFileName(), fileResult.getFilePath(), fileResult.getContentType());
+        }
+
+        // 10. 응답 생성
+        return SignUpResponse.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .approvalStatus(user.getApprovalStatus())
+                .message("회원가입이 완료되었습니다. 관리자 승인 후 서비스를 이용하실 수 있습니다.")
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * 회원가입 DB 기록 (트랜잭션 안에서 호출)
+     */
+    private User saveSignUp(SignUpRequest request,
+                            String encodedPassword,
+                            FileStorageService.FileStorageResult fileResult,
+                            String clientIp,
+                            HttpServletRequest httpRequest) {
+        // 4. 사용자 생성
         User user = User.builder()
                 .email(request.getEmail())
                 .password(encodedPassword)
@@ -80,10 +157,14 @@ public class UserService {
                 .filePath(fileResult.getFilePath())
                 .fileSize(fileResult.getFileSize())
                 .contentType(fileResult.getContentType())
+                .contentHash(fileResult.getContentHash())
+                .stagedFileName(fileResult.getStagedPath() != null
+                        ? Paths.get(fileResult.getStagedPath()).getFileName().toString() : null)
                 .approvalStatus(ApprovalStatus.PENDING)
                 .build();
 
         licenseRepository.save(license);
+        licenseReviewEventService.publish(ApprovalStatus.PENDING, license.getId(), user.getId()); // 커밋 후 심사 화면에 알림
 
         // 7. 동의 기록 저장
         if (Boolean.TRUE.equals(request.getPrivacyPolicyAgreed())) {
@@ -130,15 +211,7 @@ public class UserService {
                 httpRequest
         );
 
-        // 9. 응답 생성
-        return SignUpResponse.builder()
-                .userId(user.getId())
-                .email(user.getEmail())
-                .name(user.getName())
-                .approvalStatus(user.getApprovalStatus())
-                .message("회원가입이 완료되었습니다. 관리자 승인 후 서비스를 이용하실 수 있습니다.")
-                .createdAt(user.getCreatedAt())
-                .build();
+        return user;
     }
 
     /**
@@ -171,12 +244,21 @@ public class UserService {
      * 로그인 처리
      */
     public LoginResponse login(LoginRequest request, HttpServletRequest httpRequest) {
-        // 1. 사용자 조회
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다"));
+        // 0. 무차별 대입 차단 (조회/BCrypt 전에 거부)
+        // 클라이언트가 보낸 X-Forwarded-For는 매 요청 바꿀 수 있으므로 연결 주소 사용 (신뢰 프록시 처리는 서버 설정)
+        String clientIp = httpRequest != null ? httpRequest.getRemoteAddr() : null;
+        loginThrottleService.checkAllowed(request.getEmail(), clientIp);
+
+        // 1. 인증 정보 조회 (캐시 → 조인 없는 프로젝션)
+        UserCredentials user = userCredentialCache.get(request.getEmail()).orElse(null);
+        if (user == null) {
+            loginThrottleService.recordFailure(request.getEmail(), clientIp);
+            throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다");
+        }
 
         // 2. 비밀번호 확인
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            loginThrottleService.recordFailure(request.getEmail(), clientIp);
             throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다");
         }
 
@@ -185,6 +267,11 @@ public class UserService {
             throw new IllegalArgumentException("비활성화된 계정입니다");
         }
 
+        // 비밀번호 해시가 현재 설정보다 약하면 백그라운드에서 재해시 (응답 지연 없음)
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehashPasswordInBackground(user, request.getPassword());
+        }
+
         // 4. JWT 토큰 생성
         String token = jwtUtil.generateToken(
                 user.getId(),
@@ -192,7 +279,10 @@ public class UserService {
                 user.getRole().name()
         );
 
-        // 5. 감사 로그 기록
+        // 5. 리프레시 토큰 발급
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        // 6. 감사 로그 기록
         auditLogService.log(
                 AuditActionType.LOGIN,
                 "USER",
@@ -203,9 +293,10 @@ public class UserService {
                 httpRequest
         );
 
-        // 6. 응답 생성
+        // 7. 응답 생성
         return LoginResponse.builder()
                 .accessToken(token)
+                .refreshToken(refreshToken)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .name(user.getName())
@@ -213,5 +304,130 @@ public class UserService {
                 .approvalStatus(user.getApprovalStatus())
                 .build();
     }
-}
 
+    /**
+     * 비밀번호 재해시 후 저장 (그 사이 비밀번호가 변경되었으면 건너뜀)
+     */
+    private void rehashPasswordInBackground(UserCredentials user, String rawPassword) {
+        passwordHashingService.encodeInBackground(rawPassword)
+                .thenAccept(newHash -> {
+                    if (userRepository.updatePassword(user.getId(), user.getPassword(), newHash) > 0) {
+                        userCredentialCache.invalidate(user.getEmail());
+                        log.info("Rehashed password for user {}", user.getId());
+                    }
+                })
+                .exceptionally(e -> {
+                    log.warn("Password rehash skipped for user {}: {}", user.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 액세스 토큰 재발급 (비밀번호 검증 없이 리프레시 토큰 로테이션으로 처리)
+     */
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        // 1. 리프레시 토큰 로테이션 (재사용 감지 포함)
+        RefreshTokenService.RotationResult rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        // 2. 사용자 조회 및 활성화 여부 확인
+        User user = userRepository.findById(rotation.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
+
+        if (!user.getActive()) {
+            refreshTokenService.revokeAllForUser(user.getId());
+            throw new IllegalArgumentException("비활성화된 계정입니다");
+        }
+
+        // 3. JWT 토큰 생성
+        String token = jwtUtil.generateToken(
+                user.getId(),
+                user.getEmail(),
+                user.getRole().name()
+        );
+
+        // 4. 응답 생성
+        return LoginResponse.builder()
+                .accessToken(token)
+                .refreshToken(rotation.getRefreshToken())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .name(user.getName())
+                .role(user.getRole().name())
+                .approvalStatus(user.getApprovalStatus())
+                .build();
+    }
+
+    /**
+     * 로그아웃 처리
+     * @param refreshToken 함께 폐기할 리프레시 토큰 (선택)
+     * @param allSessions true면 현재 토큰뿐 아니라 사용자의 모든 세션 폐기
+     */
+    public void logout(JwtPrincipal principal, String refreshToken, boolean allSessions, HttpServletRequest httpRequest) {
+        tokenRevocationService.revokeToken(principal);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken, principal.getUserId());
+        }
+        if (allSessions) {
+            tokenRevocationService.revokeAllSessions(principal.getUserId());
+            refreshTokenService.revokeAllForUser(principal.getUserId());
+        }
+
+        auditLogService.log(
+                AuditActionType.LOGOUT,
+                "USER",
+                principal.getUserId(),
+                principal.getUserId(),
+                null,
+                allSessions ? "전체 세션 로그아웃" : "로그아웃",
+                httpRequest
+        );
+    }
+
+    /**
+     * 관리자에 의한 사용자 전체 세션 폐기 (토큰 유출 대응)
+     */
+    public void revokeAllSessions(Long userId, Long adminId, HttpServletRequest httpRequest) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다");
+        }
+
+        tokenRevocationService.revokeAllSessions(userId);
+        refreshTokenService.revokeAllForUser(userId);
+
+        auditLogService.log(
+                AuditActionType.LOGOUT,
+                "USER",
+                userId,
+                adminId,
+                userId,
+                "관리자에 의한 전체 세션 폐기",
+                httpRequest
+        );
+    }
+
+    /**
+     * 관리자에 의한 계정 비활성화 (로그인 차단 및 전체 세션 폐기)
+     */
+    @Transactional
+    public void deactivateUser(Long userId, Long adminId, HttpServletRequest httpRequest) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
+
+        user.setActive(false);
+        userRepository.save(user);
+        userCredentialCache.invalidate(user.getEmail());
+
+        tokenRevocationService.revokeAllSessions(userId);
+        refreshTokenService.revokeAllForUser(userId);
+
+        auditLogService.log(
+                AuditActionType.UPDATE,
+                "USER",
+                userId,
+                adminId,
+                userId,
+                "관리자에 의한 계정 비활성화",
+                httpRequest
+        );
+    }
+}
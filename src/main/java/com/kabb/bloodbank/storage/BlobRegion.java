@@ -0,0 +1,9 @@
+package com.kabb.bloodbank.storage;
+
+import java.nio.file.Path;
+
+/**
+ * 저장된 내용의 물리 위치 (개별 파일이면 offset 0 / 파일 전체, 세그먼트 저장소면 세그먼트 파일 안의 구간)
+ */
+public record BlobRegion(Path file, long offset, long length) {
+}
@@ -0,0 +1,176 @@
+package com.kabb.bloodbank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 파일시스템 면허증 저장소
+ * - contentAddressed=false: 업로드마다 UUID 파일명 (기존 방식)
+ * - contentAddressed=true: SHA-256 해시가 파일명이므로 같은 내용은 한 파일만 존재하고,
+ *   여러 License 행이 같은 storedFileName을 참조 (참조 수는 License 행 수)
+ * - fanOut=true: 파일명 앞 4글자로 2단계 하위 디렉토리(ab/cd/abcd...)에 분산해 한 디렉토리의 항목 수를 제한
+ */
+public class FileSystemLicenseBlobStore implements LicenseBlobStore {
+
+    private static final int FAN_OUT_PREFIX_LENGTH = 4;
+
+    private final Path root;
+    private final boolean contentAddressed;
+    private final boolean fanOut;
+
+    public FileSystemLicenseBlobStore(Path root, boolean contentAddressed, boolean fanOut) {
+        this.root = root;
+        this.contentAddressed = contentAddressed;
+        this.fanOut = fanOut;
+    }
+
+    @Override
+    public Path root() {
+        return root;
+    }
+
+    @Override
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    @Override
+    public String storedFileName(String contentHash, String extension) {
+        if (contentAddressed) {
+            return contentHash;
+        }
+        return UUID.randomUUID() + (extension != null ? extension : "");
+    }
+
+    @Override
+    public Path resolve(String storedFileName) {
+        if (!fanOut || storedFileName.length() < FAN_OUT_PREFIX_LENGTH) {
+            return root.resolve(storedFileName);
+        }
+        return root.resolve(storedFileName.substring(0, 2))
+                .resolve(storedFileName.substring(2, 4))
+                .resolve(storedFileName);
+    }
+
+    @Override
+    public Optional<String> findExisting(String storedFileName) throws IOException {
+        if (!contentAddressed) {
+            return Optional.empty();
+        }
+        // 아직 이전되지 않은 평면 구조 파일도 재사용
+        for (Path candidate : new Path[]{resolve(storedFileName), root.resolve(storedFileName)}) {
+            if (Files.exists(candidate)) {
+                // 최근 사용 표시 (고아 파일 정리 시 방금 재사용된 파일을 건너뛰도록)
+                Files.setLastModifiedTime(candidate, FileTime.from(Instant.now()));
+                return Optional.of(candidate.toString());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void promote(Path stagedFile, String storedFileName) throws IOException {
+        Path target = resolve(storedFileName);
+        Files.createDirectories(target.getParent());
+        if (contentAddressed && Files.exists(target)) {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            Files.deleteIfExists(stagedFile);
+            return;
+        }
+        try {
+            Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(stagedFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public Optional<BlobRegion> locate(String storedFileName, String location) throws IOException {
+        Path path = location != null ? Paths.get(location) : resolve(storedFileName);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new BlobRegion(path, 0, Files.size(path)));
+    }
+
+    @Override
+    public InputStream openStream(BlobRegion region) throws IOException {
+        InputStream in = Files.newInputStream(region.file());
+        in.skipNBytes(region.offset());
+        return in;
+    }
+
+    @Override
+    public boolean delete(String storedFileName) throws IOException {
+        boolean deleted = Files.deleteIfExists(resolve(storedFileName));
+        return Files.deleteIfExists(root.resolve(storedFileName)) || deleted;
+    }
+
+    /**
+     * 루트 바로 아래 파일(평면 구조) 하나와 최상위 하위 디렉토리별 하나씩 (숨김 디렉토리 제외)
+     */
+    @Override
+    public List<Path> scanRoots() throws IOException {
+        List<Path> scanRoots = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return scanRoots;
+        }
+        scanRoots.add(root);
+        try (Stream<Path> children = Files.list(root)) {
+            children.filter(Files::isDirectory)
+                    .filter(child -> !child.getFileName().toString().startsWith("."))
+                    .forEach(scanRoots::add);
+        }
+        return scanRoots;
+    }
+
+    @Override
+    public List<StoredBlob> scan(Path scanRoot) throws IOException {
+        List<StoredBlob> blobs = new ArrayList<>();
+        try (Stream<Path> files = scanRoot.equals(root) ? Files.list(root) : Files.walk(scanRoot)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        blobs.add(new StoredBlob(file.getFileName().toString(), file, file.toString(),
+                                attributes.size(), attributes.lastModifiedTime().toInstant()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // 훑는 도중 삭제/이동됨
+                }
+            }
+        }
+        return blobs;
+    }
+
+    @Override
+    public boolean deleteIfUnused(StoredBlob blob, Instant unusedSince) throws IOException {
+        try {
+            if (Files.getLastModifiedTime(blob.path()).toInstant().isAfter(unusedSince)) {
+                return false; // 훑은 뒤 재사용됨
+            }
+            return Files.deleteIfExists(blob.path());
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean supportsLayoutMigration() {
+        return true;
+    }
+}
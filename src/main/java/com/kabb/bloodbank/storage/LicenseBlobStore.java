@@ -0,0 +1,93 @@
+package com.kabb.bloodbank.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 면허증 파일 저장소
+ * - 저장 파일명(License.storedFileName)으로 실제 위치를 찾고, 임시 파일을 최종 위치로 옮김
+ * - 읽기는 locate/openStream으로 하며, 저장소에 따라 개별 파일 또는 세그먼트 파일 안의 구간을 가리킴
+ */
+public interface LicenseBlobStore {
+
+    /**
+     * 저장소 루트 (임시 디렉토리도 이 아래에 두어 같은 파일시스템 안에서 이동)
+     */
+    Path root();
+
+    /**
+     * 같은 내용을 같은 저장 파일명으로 저장하는지 여부 (true면 중복 내용은 한 번만 저장)
+     */
+    boolean isContentAddressed();
+
+    /**
+     * 새 업로드의 저장 파일명 결정
+     */
+    String storedFileName(String contentHash, String extension);
+
+    /**
+     * 저장 파일명을 개별 파일로 둘 때의 경로 (썸네일 등 부가 파일도 이 규칙을 따름)
+     */
+    Path resolve(String storedFileName);
+
+    /**
+     * License.filePath에 기록할 위치
+     */
+    default String location(String storedFileName) {
+        return resolve(storedFileName).toString();
+    }
+
+    /**
+     * 내용 주소 저장소에서 같은 파일이 이미 있으면 그 위치 (재사용 표시로 수정 시각 갱신)
+     */
+    Optional<String> findExisting(String storedFileName) throws IOException;
+
+    /**
+     * 임시 파일을 최종 위치로 이동 (내용 주소 저장소에서 이미 있으면 임시 파일만 삭제)
+     */
+    void promote(Path stagedFile, String storedFileName) throws IOException;
+
+    /**
+     * 저장된 내용의 물리 위치
+     * @param location License.filePath (개별 파일 저장소는 이 값이 우선)
+     */
+    Optional<BlobRegion> locate(String storedFileName, String location) throws IOException;
+
+    /**
+     * 구간 내용 읽기
+     */
+    InputStream openStream(BlobRegion region) throws IOException;
+
+    /**
+     * 저장된 파일 삭제 (참조 여부는 호출하는 쪽에서 확인)
+     */
+    boolean delete(String storedFileName) throws IOException;
+
+    /**
+     * 고아 파일 정리 시 서로 독립적으로(병렬로) 훑을 수 있는 단위
+     */
+    List<Path> scanRoots() throws IOException;
+
+    /**
+     * 한 단위 안의 저장 항목 목록 (임시 디렉토리 .staging은 제외)
+     */
+    List<StoredBlob> scan(Path scanRoot) throws IOException;
+
+    /**
+     * 훑은 뒤 다시 저장/재사용되지 않았을 때만 그 항목을 삭제 (다른 이름으로 된 같은 내용은 유지)
+     * @param unusedSince 이 시각 이후에 사용됐으면 삭제하지 않음
+     * @return 삭제했으면 true
+     */
+    boolean deleteIfUnused(StoredBlob blob, Instant unusedSince) throws IOException;
+
+    /**
+     * 디렉토리 구조 이전(LicenseFileMigrationService) 대상 여부
+     */
+    default boolean supportsLayoutMigration() {
+        return false;
+    }
+}
@@ -0,0 +1,631 @@
+package com.kabb.bloodbank.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 세그먼트 파일 면허증 저장소 (내용 주소)
+ * - 파일마다 inode를 쓰지 않도록 여러 파일을 큰 세그먼트 파일(segment-000001.dat ...)에 이어 붙임
+ * - 위치는 index.log에 추가 전용으로 기록 (PUT: 이름 → 세그먼트/오프셋/길이, DELETE: 이름)하고 기동 시 재생해 메모리 색인 구성
+ * - 읽기는 세그먼트를 메모리 매핑한 버퍼의 구간, 다운로드는 세그먼트 파일 구간을 그대로 sendfile
+ * - 삭제는 색인에서만 지우고, 주기적 압축이 죽은 바이트가 많은 세그먼트의 살아 있는 내용을 새 세그먼트로 옮긴 뒤 옛 세그먼트를 제거
+ * - 썸네일 등 부가 파일은 files/ 아래 개별 파일(fan-out)로 저장
+ * - 다른 저장 방식에서 전환한 경우 색인에 없는 면허증은 License.filePath의 개별 파일을 그대로 읽음
+ * - 색인 로그를 한 프로세스만 쓰도록 기동 시 store.lock 파일 잠금을 잡고, 이미 잡혀 있으면 기동 실패
+ *   (같은 볼륨을 여러 노드가 공유하면 세그먼트와 index.log가 깨짐)
+ */
+@Slf4j
+public class SegmentLicenseBlobStore implements LicenseBlobStore {
+
+    private static final String LOCATION_PREFIX = "segment:";
+    private static final String SEGMENT_DIR_NAME = "segments";
+    private static final String INDEX_LOG_NAME = "index.log";
+    private static final String LOCK_FILE_NAME = "store.lock"; // index.log는 압축 때 교체되므로 잠금은 별도 파일에
+    private static final int BLOB_MAGIC = 0x4B424C42; // "KBLB" (세그먼트 안의 각 내용 앞 헤더, 색인 복구용)
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+
+    private final Path root;
+    private final Path segmentDir;
+    private final long maxSegmentBytes;
+    private final double compactionGarbageRatio;
+    private final FileSystemLicenseBlobStore sideFiles;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> retired = new ConcurrentHashMap<>(); // 압축 후 다음 주기에 삭제 (전송 중인 읽기 보호)
+    private final Map<String, Instant> lastUsed = new ConcurrentHashMap<>(); // 기동 후 저장/재사용된 내용만
+    private final Instant openedAt = Instant.now(); // 기동 전 사용 시각은 모르므로 기동 시각으로 간주
+    private final Object writeLock = new Object();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // 압축은 세그먼트 전체를 복사할 수 있으므로 스케줄러 스레드가 아닌 전용 스레드에서 실행
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "license-segment-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel lockChannel;
+    private FileChannel indexLog;
+    private volatile Segment active;
+
+    public SegmentLicenseBlobStore(Path root, long maxSegmentBytes, double compactionGarbageRatio) throws IOException {
+        if (maxSegmentBytes <= 0 || maxSegmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxSegmentBytes must be between 1 and " + Integer.MAX_VALUE);
+        }
+        this.root = root;
+        this.segmentDir = root.resolve(SEGMENT_DIR_NAME);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        this.sideFiles = new FileSystemLicenseBlobStore(root.resolve("files"), true, true);
+        Files.createDirectories(segmentDir);
+        lock();
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Path root() {
+        return root;
+    }
+
+    @Override
+    public boolean isContentAddressed() {
+        return true;
+    }
+
+    @Override
+    public String storedFileName(String contentHash, String extension) {
+        return contentHash;
+    }
+
+    @Override
+    public Path resolve(String storedFileName) {
+        return sideFiles.resolve(storedFileName);
+    }
+
+    @Override
+    public String location(String storedFileName) {
+        return LOCATION_PREFIX + storedFileName;
+    }
+
+    @Override
+    public Optional<String> findExisting(String storedFileName) {
+        if (!index.containsKey(storedFileName)) {
+            return Optional.empty();
+        }
+        lastUsed.put(storedFileName, Instant.now()); // 고아 파일 정리가 방금 재사용된 내용을 건너뛰도록
+        return Optional.of(location(storedFileName));
+    }
+
+    @Override
+    public void promote(Path stagedFile, String storedFileName) throws IOException {
+        try (FileChannel source = FileChannel.open(stagedFile, StandardOpenOption.READ)) {
+            synchronized (writeLock) {
+                if (!index.containsKey(storedFileName)) {
+                    append(storedFileName, source, 0, source.size());
+                }
+                lastUsed.put(storedFileName, Instant.now());
+            }
+        }
+        Files.deleteIfExists(stagedFile);
+    }
+
+    /**
+     * 색인에 없으면 다른 저장 방식으로 저장된 개별 파일(location)
+     */
+    @Override
+    public Optional<BlobRegion> locate(String storedFileName, String location) throws IOException {
+        Entry entry = index.get(storedFileName);
+        if (entry == null) {
+            return locatePlainFile(location);
+        }
+        return segment(entry.segmentId())
+                .map(segment -> new BlobRegion(segment.path, entry.offset(), entry.length()));
+    }
+
+    /**
+     * 메모리 매핑 구간으로 읽기 (세그먼트가 매핑 이후 커졌으면 다시 매핑)
+     */
+    @Override
+    public InputStream openStream(BlobRegion region) throws IOException {
+        if (!region.file().startsWith(segmentDir)) {
+            return sideFiles.openStream(region); // 전환 전에 저장된 개별 파일
+        }
+        Segment segment = segment(segmentId(region.file()))
+                .orElseThrow(() -> new IOException("Unknown segment " + region.file()));
+        ByteBuffer slice = segment.mapped(region.offset() + region.length())
+                .slice((int) region.offset(), (int) region.length());
+        return new ByteBufferInputStream(slice);
+    }
+
+    @Override
+    public boolean delete(String storedFileName) throws IOException {
+        synchronized (writeLock) {
+            Entry entry = index.remove(storedFileName);
+            if (entry == null) {
+                return false;
+            }
+            writeIndexRecord(OP_DELETE, storedFileName, null);
+            lastUsed.remove(storedFileName);
+            Segment segment = segments.get(entry.segmentId());
+            if (segment != null) {
+                segment.liveBytes.addAndGet(-recordSize(storedFileName, entry.length()));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 세그먼트 색인 하나와 부가 파일 디렉토리들
+     */
+    @Override
+    public List<Path> scanRoots() throws IOException {
+        List<Path> scanRoots = new ArrayList<>();
+        scanRoots.add(segmentDir);
+        scanRoots.addAll(sideFiles.scanRoots());
+        return scanRoots;
+    }
+
+    @Override
+    public List<StoredBlob> scan(Path scanRoot) throws IOException {
+        if (!scanRoot.equals(segmentDir)) {
+            return sideFiles.scan(scanRoot);
+        }
+        List<StoredBlob> blobs = new ArrayList<>();
+        index.forEach((storedFileName, entry) -> blobs.add(new StoredBlob(storedFileName,
+                segmentPath(entry.segmentId()), location(storedFileName), entry.length(),
+                lastUsed.getOrDefault(storedFileName, openedAt))));
+        return blobs;
+    }
+
+    /**
+     * 세그먼트 안의 내용은 색인에서만 지우고 공간은 압축 때 회수
+     */
+    @Override
+    public boolean deleteIfUnused(StoredBlob blob, Instant unusedSince) throws IOException {
+        if (!blob.path().startsWith(segmentDir)) {
+            return sideFiles.deleteIfUnused(blob, unusedSince);
+        }
+        synchronized (writeLock) {
+            if (lastUsed.getOrDefault(blob.storedFileName(), openedAt).isAfter(unusedSince)) {
+                return false;
+            }
+            return delete(blob.storedFileName());
+        }
+    }
+
+    /**
+     * 살아 있는 내용 수
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 주기적 압축을 전용 스레드에서 시작하고 바로 반환 (이전 압축이 아직 실행 중이면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${file.segment.compaction-interval:600000}",
+            initialDelayString = "${file.segment.compaction-interval:600000}")
+    public void scheduledCompact() {
+        try {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    log.error("License segment compaction failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("License segment compactor is shut down");
+        }
+    }
+
+    /**
+     * 죽은 바이트 비율이 기준 이상인 세그먼트를 호출한 스레드에서 압축 (동시에 하나만 실행)
+     * - 내용 하나씩 잠금을 잡고 옮기므로 압축 중에도 업로드가 오래 막히지 않음
+     * - 옮겨진 세그먼트는 바로 지우지 않고 다음 주기에 삭제 (이미 위치를 받아 간 다운로드 보호)
+     * @return 이번에 압축한 세그먼트 수 (이미 실행 중이면 0)
+     */
+    public int compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return compactSegments();
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private int compactSegments() {
+        deleteRetiredSegments();
+
+        int compacted = 0;
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            if (segment == active || segment.totalBytes() == 0
+                    || segment.garbageRatio() < compactionGarbageRatio) {
+                continue;
+            }
+            try {
+                relocateLiveEntries(segment);
+                compacted++;
+            } catch (IOException e) {
+                log.warn("Failed to compact segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+        if (compacted > 0) {
+            try {
+                rewriteIndexLog();
+            } catch (IOException e) {
+                log.warn("Failed to rewrite segment index log: {}", e.getMessage());
+            }
+            log.info("Compacted {} license segment(s)", compacted);
+        }
+        return compacted;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        compactor.shutdownNow();
+        synchronized (writeLock) {
+            indexLog.close();
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            lockChannel.close(); // 잠금도 함께 해제
+        }
+    }
+
+    private Optional<BlobRegion> locatePlainFile(String location) throws IOException {
+        if (location == null || location.startsWith(LOCATION_PREFIX)) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(location);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new BlobRegion(path, 0, Files.size(path)));
+    }
+
+    /**
+     * 다른 프로세스(같은 볼륨을 공유하는 다른 노드 포함)가 이미 열었으면 실패
+     */
+    private void lock() throws IOException {
+        lockChannel = FileChannel.open(segmentDir.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // 같은 JVM에서 이미 열림
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("License segment store " + segmentDir
+                    + " is already opened by another process; segment storage must not be shared between nodes");
+        }
+    }
+
+    private void relocateLiveEntries(Segment segment) throws IOException {
+        for (Map.Entry<String, Entry> item : new ArrayList<>(index.entrySet())) {
+            if (item.getValue().segmentId() != segment.id) {
+                continue;
+            }
+            synchronized (writeLock) {
+                Entry current = index.get(item.getKey());
+                if (current == null || current.segmentId() != segment.id) {
+                    continue; // 그 사이 삭제됨
+                }
+                append(item.getKey(), segment.channel, current.offset(), current.length());
+            }
+        }
+        synchronized (writeLock) {
+            segments.remove(segment.id);
+            retired.put(segment.id, segment);
+        }
+    }
+
+    private void deleteRetiredSegments() {
+        for (Segment segment : new ArrayList<>(retired.values())) {
+            try {
+                segment.close();
+                Files.deleteIfExists(segment.path);
+                retired.remove(segment.id);
+            } catch (IOException e) {
+                log.warn("Failed to delete compacted segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 내용을 현재 세그먼트 끝에 붙이고 색인 기록 (writeLock 안에서 호출)
+     * 세그먼트 데이터를 먼저 디스크에 내린 뒤 색인을 기록하므로, 중간에 멈추면 색인 없는 죽은 바이트만 남음
+     */
+    private void append(String storedFileName, FileChannel source, long sourceOffset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Blob too large for a segment: " + length);
+        }
+        long recordSize = recordSize(storedFileName, length);
+        if (active.channel.size() > 0 && active.channel.size() + recordSize > maxSegmentBytes) {
+            rollSegment();
+        }
+
+        byte[] name = storedFileName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 + 2 + name.length + 4);
+        header.putInt(BLOB_MAGIC).putShort((short) name.length).put(name).putInt((int) length).flip();
+
+        long position = active.channel.size();
+        while (header.hasRemaining()) {
+            position += active.channel.write(header, position);
+        }
+        long dataOffset = position;
+        long copied = 0;
+        while (copied < length) {
+            long n = source.transferTo(sourceOffset + copied, length - copied, active.channel.position(position + copied));
+            if (n <= 0) {
+                throw new IOException("Unexpected end of blob source for " + storedFileName);
+            }
+            copied += n;
+        }
+        active.channel.force(false);
+
+        Entry entry = new Entry(active.id, dataOffset, (int) length);
+        writeIndexRecord(OP_PUT, storedFileName, entry);
+
+        Entry previous = index.put(storedFileName, entry);
+        if (previous != null) {
+            Segment old = segments.get(previous.segmentId());
+            if (old != null) {
+                old.liveBytes.addAndGet(-recordSize(storedFileName, previous.length()));
+            }
+        }
+        active.liveBytes.addAndGet(recordSize);
+    }
+
+    private void rollSegment() throws IOException {
+        int nextId = active.id + 1;
+        active = openSegment(nextId);
+        segments.put(nextId, active);
+    }
+
+    private void writeIndexRecord(byte op, String storedFileName, Entry entry) throws IOException {
+        ByteBuffer record = encode(op, storedFileName, entry);
+        while (record.hasRemaining()) {
+            indexLog.write(record);
+        }
+        indexLog.force(false);
+    }
+
+    private static ByteBuffer encode(byte op, String storedFileName, Entry entry) {
+        byte[] name = storedFileName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(1 + 2 + name.length + (op == OP_PUT ? 4 + 8 + 4 : 0));
+        record.put(op).putShort((short) name.length).put(name);
+        if (op == OP_PUT) {
+            record.putInt(entry.segmentId()).putLong(entry.offset()).putInt(entry.length());
+        }
+        return record.flip();
+    }
+
+    /**
+     * 현재 색인만 담은 새 로그로 교체 (압축 후 DELETE/옛 PUT 기록 제거)
+     */
+    private void rewriteIndexLog() throws IOException {
+        synchronized (writeLock) {
+            Path logPath = segmentDir.resolve(INDEX_LOG_NAME);
+            Path temp = segmentDir.resolve(INDEX_LOG_NAME + ".tmp");
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(buffer)) {
+                for (Map.Entry<String, Entry> item : index.entrySet()) {
+                    ByteBuffer record = encode(OP_PUT, item.getKey(), item.getValue());
+                    out.write(record.array(), 0, record.limit());
+                }
+            }
+            Files.write(temp, buffer.toByteArray());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            indexLog.close();
+            Files.move(temp, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            indexLog = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * 색인 로그를 재생해 메모리 색인과 세그먼트별 살아 있는 바이트 복원
+     * 마지막 기록이 쓰다 만 상태면 그 앞까지 잘라냄
+     */
+    private void open() throws IOException {
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().matches("segment-\\d+\\.dat")).toList()) {
+                int id = segmentId(path);
+                segments.put(id, openSegment(id));
+            }
+        }
+
+        Path logPath = segmentDir.resolve(INDEX_LOG_NAME);
+        if (Files.exists(logPath)) {
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(logPath));
+            int lastGood = 0;
+            try {
+                while (records.hasRemaining()) {
+                    byte op = records.get();
+                    byte[] name = new byte[records.getShort()];
+                    records.get(name);
+                    String storedFileName = new String(name, StandardCharsets.UTF_8);
+                    if (op == OP_PUT) {
+                        index.put(storedFileName, new Entry(records.getInt(), records.getLong(), records.getInt()));
+                    } else if (op == OP_DELETE) {
+                        index.remove(storedFileName);
+                    } else {
+                        break;
+                    }
+                    lastGood = records.position();
+                }
+            } catch (BufferUnderflowException e) {
+                // 쓰다 만 마지막 기록
+            }
+            if (lastGood < records.limit()) {
+                log.warn("Truncating torn segment index log at {} of {}", lastGood, records.limit());
+                try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(lastGood);
+                }
+            }
+        }
+        index.entrySet().removeIf(item -> !segments.containsKey(item.getValue().segmentId()));
+        index.forEach((name, entry) ->
+                segments.get(entry.segmentId()).liveBytes.addAndGet(recordSize(name, entry.length())));
+
+        int activeId = segments.keySet().stream().max(Integer::compare).orElse(1);
+        active = segments.computeIfAbsent(activeId, id -> {
+            try {
+                return openSegment(id);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        indexLog = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Segment openSegment(int id) throws IOException {
+        Path path = segmentPath(id);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(id, path, channel);
+    }
+
+    // 압축 직후에는 이미 위치를 받아 간 읽기를 위해 옮겨진 세그먼트도 찾음
+    private Optional<Segment> segment(int id) {
+        Segment segment = segments.get(id);
+        return segment != null ? Optional.of(segment) : Optional.ofNullable(retired.get(id));
+    }
+
+    private Path segmentPath(int id) {
+        return segmentDir.resolve(String.format("segment-%06d.dat", id));
+    }
+
+    private static int segmentId(Path segmentPath) {
+        return Integer.parseInt(segmentPath.getFileName().toString().replaceAll("\\D", ""));
+    }
+
+    private static long recordSize(String storedFileName, long length) {
+        return 4 + 2 + storedFileName.getBytes(StandardCharsets.UTF_8).length + 4 + length;
+    }
+
+    private record Entry(int segmentId, long offset, int length) {
+    }
+
+    private static class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+        private volatile MappedByteBuffer mapping;
+
+        Segment(int id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        long totalBytes() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        double garbageRatio() {
+            long total = totalBytes();
+            return total == 0 ? 0 : 1.0 - (double) liveBytes.get() / total;
+        }
+
+        /**
+         * 요청 구간까지 덮는 읽기 전용 매핑 (현재 세그먼트는 커지므로 부족하면 다시 매핑)
+         */
+        MappedByteBuffer mapped(long requiredBytes) throws IOException {
+            MappedByteBuffer current = mapping;
+            if (current == null || current.capacity() < requiredBytes) {
+                synchronized (this) {
+                    current = mapping;
+                    if (current == null || current.capacity() < requiredBytes) {
+                        current = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                        mapping = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 매핑 버퍼 구간을 읽는 스트림 (복사 없이 페이지 캐시에서 바로 읽음)
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.kabb.bloodbank.storage;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * 저장소를 훑을 때 찾은 저장 항목 (고아 파일 정리용)
+ * @param location License.filePath와 비교할 위치
+ * @param lastUsed 마지막 저장/재사용 시각 (유예 기간 판단용)
+ */
+public record StoredBlob(String storedFileName, Path path, String location, long size, Instant lastUsed) {
+}
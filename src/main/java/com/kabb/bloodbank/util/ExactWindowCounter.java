@@ -0,0 +1,89 @@
+package com.kabb.bloodbank.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 문자열 키별 정확한 슬라이딩 윈도우 카운터 (스레드 안전)
+ * - SlidingWindowCounter와 같은 계산(현재 윈도우 + 이전 윈도우의 겹치는 비율)이지만 키마다 따로 세므로 과대 추정이 없음
+ * - 키 수는 maxKeys로 제한, 넘으면 W-TinyLFU가 자주 쓰이는 키를 남기므로 한 번씩만 나오는 대량의 키가
+ *   실패가 쌓인 키를 밀어내기 어려움
+ * - 밀려난 키는 0부터 다시 셈 (한도가 늦게 걸릴 수는 있어도 무관한 키가 차단되지는 않음)
+ */
+public final class ExactWindowCounter {
+
+    private final long windowMillis;
+    private final Cache<String, KeyWindow> windows;
+
+    public ExactWindowCounter(long maxKeys, long windowMillis) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys must be positive");
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMillis * 2)) // 두 윈도우가 지나면 의미 없음
+                .build();
+    }
+
+    /**
+     * 현재 윈도우에 1 증가
+     */
+    public void increment(String key, long nowMillis) {
+        windows.get(key, k -> new KeyWindow()).increment(nowMillis / windowMillis);
+    }
+
+    /**
+     * 직전 windowMillis 동안의 횟수 (이전 윈도우는 겹치는 비율만큼 반영)
+     */
+    public double estimate(String key, long nowMillis) {
+        KeyWindow window = windows.getIfPresent(key);
+        if (window == null) {
+            return 0;
+        }
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+        return window.estimate(nowMillis / windowMillis, elapsed);
+    }
+
+    /**
+     * 현재 윈도우가 끝날 때까지 남은 시간
+     */
+    public long millisUntilNextWindow(long nowMillis) {
+        return windowMillis - (nowMillis % windowMillis);
+    }
+
+    private static final class KeyWindow {
+        private long epoch = Long.MIN_VALUE;
+        private int current;
+        private int previous;
+
+        synchronized void increment(long epoch) {
+            roll(epoch);
+            if (epoch == this.epoch) {
+                current++;
+            }
+        }
+
+        synchronized double estimate(long epoch, double elapsed) {
+            roll(epoch);
+            if (epoch != this.epoch) {
+                return current; // 늦은 호출: 이미 다음 윈도우
+            }
+            return current + previous * (1.0 - elapsed);
+        }
+
+        private void roll(long epoch) {
+            if (epoch <= this.epoch) {
+                return;
+            }
+            previous = epoch == this.epoch + 1 ? current : 0;
+            current = 0;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.kabb.bloodbank.util;
+
+/**
+ * 확률적 자료구조(BloomFilter, SlidingWindowCounter)용 문자열 해시
+ * - FNV-1a 결과를 SplitMix64로 섞은 hash1과, 이를 다시 섞은 홀수 hash2로 i번째 해시를 hash1 + i * hash2로 만듦
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    static long hash1(String value) {
+        return mix(fnv1a(value));
+    }
+
+    /**
+     * 더블 해싱의 증분 (홀수라 2의 거듭제곱 크기 테이블에서도 모든 칸을 돎)
+     */
+    static long hash2(long hash1) {
+        return mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
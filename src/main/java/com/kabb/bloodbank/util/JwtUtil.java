@@ -1,21 +1,31 @@
 package com.kabb.bloodbank.util;
 
 import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.security.JwtKeyRing;
+import com.kabb.bloodbank.security.JwtPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtUtil {
 
+    // 관리자 심사 이벤트 스트림 연결 전용 (EventSource는 Authorization 헤더를 보낼 수 없어 쿼리 파라미터로 전달)
+    public static final String LICENSE_EVENTS_SCOPE = "license-events";
+    private static final String SCOPE_CLAIM = "scope";
+    // iat는 초 단위라 전체 세션 폐기와 같은 초에 발급된 토큰을 구분할 수 없으므로 밀리초 발급 시각을 함께 담음
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
     private final JwtProperties jwtProperties;
+    private final JwtKeyRing jwtKeyRing;
 
     /**
      * JWT 토큰 생성
@@ -25,15 +35,59 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + jwtProperties.getAccessTokenExpiration());
 
         return Jwts.builder()
+                .header()
+                .keyId(jwtKeyRing.getActiveKeyId())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userId))
+                .claim("email", email)
+                .claim("role", role)
+                .issuedAt(now)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
+                .expiration(expiryDate)
+                .signWith(jwtKeyRing.getActiveSigningKey())
+                .compact();
+    }
+
+    /**
+     * 한 용도로만 쓰는 짧은 수명의 토큰 생성 (jwt.stream-token-expiration)
+     * - URL에 실려 로그에 남을 수 있으므로 일반 API 인증에는 쓸 수 없음
+     */
+    public String generateScopedToken(Long userId, String email, String role, String scope) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtProperties.getStreamTokenExpiration());
+
+        return Jwts.builder()
+                .header()
+                .keyId(jwtKeyRing.getActiveKeyId())
+                .and()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
                 .claim("email", email)
                 .claim("role", role)
+                .claim(SCOPE_CLAIM, scope)
                 .issuedAt(now)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(jwtKeyRing.getActiveSigningKey())
                 .compact();
     }
 
+    /**
+     * JWT 토큰을 한 번만 파싱/검증하여 인증 주체 정보 반환
+     * 서명 또는 만료 검증에 실패하거나 용도가 한정된 토큰이면 빈 값을 반환
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
+        return parse(token, null);
+    }
+
+    /**
+     * 주어진 용도로 발급된 토큰만 검증
+     */
+    public Optional<JwtPrincipal> parseScopedToken(String token, String scope) {
+        return parse(token, scope);
+    }
+
     /**
      * JWT 토큰에서 사용자 ID 추출
      */
@@ -70,23 +124,46 @@ public class JwtUtil {
         }
     }
 
+    private Optional<JwtPrincipal> parse(String token, String scope) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = getClaimsFromToken(token);
+            if (!Objects.equals(claims.get(SCOPE_CLAIM, String.class), scope)) {
+                return Optional.empty();
+            }
+            return Optional.of(toPrincipal(claims));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
-     * 토큰에서 Claims 추출
+     * Claims를 인증 주체 정보로 변환
      */
-    private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private JwtPrincipal toPrincipal(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        if (claims.get(ISSUED_AT_MILLIS_CLAIM) instanceof Number issuedAtMillis) {
+            issuedAt = new Date(issuedAtMillis.longValue());
+        }
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.getId(),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration != null ? expiration.toInstant() : null
+        );
     }
 
     /**
-     * 서명 키 생성
+     * 토큰에서 Claims 추출 (키 링의 재사용 파서 사용)
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims getClaimsFromToken(String token) {
+        return jwtKeyRing.getParser()
+                .parseSignedClaims(token)
+                .getPayload();
     }
 }
-
@@ -0,0 +1,341 @@
+package com.kabb.bloodbank.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * multipart/form-data 요청 본문을 한 번만 읽으며 파트 단위로 넘겨주는 스트리밍 파서
+ * - 파트 본문을 메모리나 임시 파일에 모으지 않고 InputStream으로 바로 제공
+ * - 다음 파트로 넘어가면 이전 파트의 남은 본문은 읽고 버림
+ */
+public final class MultipartStreamParser {
+
+    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter; // CRLF + "--" + boundary
+    private final byte[] buffer;
+    private int head;
+    private int tail;
+    private boolean finished;
+    private PartInputStream current;
+
+    public MultipartStreamParser(InputStream in, String boundary) {
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IllegalArgumentException("Invalid multipart boundary");
+        }
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(DEFAULT_BUFFER_SIZE, delimiter.length * 4)];
+        // 첫 경계는 CRLF 없이 시작하므로 CRLF를 앞에 붙여 두고 모든 경계를 같은 방식으로 찾음
+        this.buffer[0] = '\r';
+        this.buffer[1] = '\n';
+        this.tail = 2;
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 값 추출
+     */
+    public static String extractBoundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        return headerParam(contentType, "boundary");
+    }
+
+    /**
+     * 다음 파트 (없으면 null)
+     */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        // 프리앰블 또는 이전 파트의 남은 본문을 건너뛰어 경계 직후로 이동
+        PartInputStream previous = current != null ? current : new PartInputStream();
+        previous.drain();
+        current = null;
+
+        ensureAvailable(2);
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        skipLineEnd();
+
+        String name = null;
+        String fileName = null;
+        String contentType = null;
+        int headerBytes = 0;
+        while (true) {
+            String line = readHeaderLine();
+            headerBytes += line.length() + 2;
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart part headers too large");
+            }
+            if (line.isEmpty()) {
+                break;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String headerName = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String headerValue = line.substring(colon + 1).trim();
+            if (headerName.equals("content-disposition")) {
+                name = dispositionParam(headerValue, "name");
+                fileName = dispositionParam(headerValue, "filename");
+            } else if (headerName.equals("content-type")) {
+                contentType = headerValue;
+            }
+        }
+
+        current = new PartInputStream();
+        return new Part(name, fileName, contentType, current);
+    }
+
+    /**
+     * 파트 정보와 본문 스트림
+     */
+    public static final class Part {
+        private final String name;
+        private final String fileName;
+        private final String contentType;
+        private final InputStream body;
+
+        private Part(String name, String fileName, String contentType, InputStream body) {
+            this.name = name;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public boolean isFile() {
+            return fileName != null;
+        }
+
+        public InputStream getBody() {
+            return body;
+        }
+
+        /**
+         * 텍스트 필드 값 읽기 (maxBytes 초과 시 예외)
+         */
+        public String readString(int maxBytes) throws IOException {
+            byte[] value = body.readNBytes(maxBytes + 1);
+            if (value.length > maxBytes) {
+                throw new IOException("Multipart field '" + name + "' too large");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 다음 경계 직전까지만 읽히는 파트 본문 스트림
+     */
+    private final class PartInputStream extends InputStream {
+
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int index = indexOfDelimiter();
+                if (index >= 0) {
+                    int available = index - head;
+                    if (available == 0) {
+                        ended = true;
+                        head = index + delimiter.length;
+                        return -1;
+                    }
+                    return copyOut(b, off, Math.min(len, available));
+                }
+                // 경계의 앞부분일 수 있는 마지막 (delimiter.length - 1) 바이트는 남겨 둠
+                int safe = tail - head - (delimiter.length - 1);
+                if (safe > 0) {
+                    return copyOut(b, off, Math.min(len, safe));
+                }
+                if (fill() == -1) {
+                    throw new IOException("Unexpected end of multipart stream");
+                }
+            }
+        }
+
+        @Override
+        public int available() {
+            return ended ? 0 : Math.max(0, tail - head - (delimiter.length - 1));
+        }
+
+        private void drain() throws IOException {
+            byte[] skip = new byte[4096];
+            while (read(skip, 0, skip.length) != -1) {
+                // 남은 본문 버림
+            }
+        }
+
+        private int copyOut(byte[] b, int off, int n) {
+            System.arraycopy(buffer, head, b, off, n);
+            head += n;
+            return n;
+        }
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = head; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 버퍼 앞쪽을 비우고 입력에서 더 읽음
+     */
+    private int fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int n = in.read(buffer, tail, buffer.length - tail);
+        if (n > 0) {
+            tail += n;
+        }
+        return n;
+    }
+
+    private void ensureAvailable(int count) throws IOException {
+        while (tail - head < count) {
+            if (fill() == -1) {
+                throw new IOException("Unexpected end of multipart stream");
+            }
+        }
+    }
+
+    private void skipLineEnd() throws IOException {
+        // 경계 뒤 공백(transport padding) 허용 후 CRLF
+        while (true) {
+            ensureAvailable(1);
+            byte b = buffer[head];
+            if (b == ' ' || b == '\t') {
+                head++;
+                continue;
+            }
+            break;
+        }
+        ensureAvailable(2);
+        if (buffer[head] != '\r' || buffer[head + 1] != '\n') {
+            throw new IOException("Malformed multipart boundary line");
+        }
+        head += 2;
+    }
+
+    private String readHeaderLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            ensureAvailable(1);
+            byte b = buffer[head++];
+            if (b == '\r') {
+                ensureAvailable(1);
+                if (buffer[head] == '\n') {
+                    head++;
+                    return line.toString();
+                }
+            }
+            line.append((char) (b & 0xFF));
+            if (line.length() > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart part headers too large");
+            }
+        }
+    }
+
+    private static String dispositionParam(String disposition, String param) {
+        String value = headerParam(disposition, param);
+        if (value == null) {
+            return null;
+        }
+        // 헤더는 ISO-8859-1로 읽었으므로 브라우저가 보낸 UTF-8 파일명 복원
+        return new String(value.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 헤더 값의 파라미터 조회 (type; a=b; c="d;e" 형식)
+     * - 따옴표 안의 ;와 =는 값의 일부로 취급 (filename="a;b.pdf")
+     * - 따옴표 안의 \" 와 \\ 는 이스케이프로 해석, 그 밖의 \는 그대로 둠 (Windows 경로)
+     */
+    private static String headerParam(String header, String param) {
+        int length = header.length();
+        int i = header.indexOf(';');
+        while (i >= 0 && i < length) {
+            i++; // ';' 다음
+            int nameStart = i;
+            while (i < length && header.charAt(i) != '=' && header.charAt(i) != ';') {
+                i++;
+            }
+            String name = header.substring(nameStart, i).trim();
+            if (i >= length || header.charAt(i) == ';') {
+                continue; // 값 없는 파라미터
+            }
+            i++; // '=' 다음
+            while (i < length && header.charAt(i) == ' ') {
+                i++;
+            }
+
+            StringBuilder value = new StringBuilder();
+            if (i < length && header.charAt(i) == '"') {
+                i++;
+                while (i < length && header.charAt(i) != '"') {
+                    char c = header.charAt(i);
+                    if (c == '\\' && i + 1 < length && (header.charAt(i + 1) == '"' || header.charAt(i + 1) == '\\')) {
+                        c = header.charAt(++i);
+                    }
+                    value.append(c);
+                    i++;
+                }
+                i = header.indexOf(';', i); // 닫는 따옴표 뒤의 나머지는 무시
+            } else {
+                int end = header.indexOf(';', i);
+                value.append(header.substring(i, end < 0 ? length : end).trim());
+                i = end;
+            }
+
+            if (name.equalsIgnoreCase(param)) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+}
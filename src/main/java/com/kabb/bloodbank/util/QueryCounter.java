@@ -0,0 +1,46 @@
+package com.kabb.bloodbank.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 스레드별 JDBC 문 실행 횟수 (N+1 감지용)
+ * - Hibernate StatementInspector로 등록되어, Hibernate가 PreparedStatement를 준비할 때마다 1 증가
+ *   (배치 INSERT/UPDATE는 배치당 1, Hibernate 통계의 prepareStatementCount와 같은 기준)
+ * - 스레드별 누적값만 유지하고, 구간 측정은 시작 시점 값과의 차이로 계산하므로 중첩 측정도 가능
+ * - 다른 스레드(비동기 작업 등)에서 실행된 문은 포함하지 않음
+ */
+public final class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * 현재 스레드에서 측정 시작
+     */
+    public static Scope start() {
+        return new Scope(STATEMENTS.get());
+    }
+
+    /**
+     * 측정 구간 (시작 이후 현재 스레드에서 실행된 문 수)
+     */
+    public static final class Scope {
+
+        private final long[] statements;
+        private final long startedAt;
+
+        private Scope(long[] statements) {
+            this.statements = statements;
+            this.startedAt = statements[0];
+        }
+
+        public long count() {
+            return statements[0] - startedAt;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kabb.bloodbank.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문자열 키별 슬라이딩 윈도우 카운터 (스레드 안전, 락 없음)
+ * - count-min sketch 방식의 고정 크기 카운터 배열이므로 키가 수백만 개여도 메모리가 일정
+ * - 현재/이전 두 윈도우만 유지하고, 윈도우가 바뀌면 오래된 쪽 배열을 비워 재사용
+ * - 추정값은 해시 충돌로 실제보다 클 수는 있어도 작지는 않음
+ * - conservative update: 키의 현재 추정값인 칸만 올려 다른 키가 받는 과대 추정을 줄임
+ * - 과대 추정은 윈도우당 증가 횟수에 비례하므로 widthFor로 예상 증가 횟수에 맞춰 크기를 정할 것
+ */
+public final class SlidingWindowCounter {
+
+    private static final int MAX_WIDTH = 1 << 24;
+
+    private final int width;
+    private final int depth;
+    private final long windowMillis;
+    private final Window[] windows;
+
+    private static final class Window {
+        private final AtomicLong epoch = new AtomicLong(-1);
+        private final AtomicIntegerArray counts;
+
+        private Window(int size) {
+            this.counts = new AtomicIntegerArray(size);
+        }
+    }
+
+    /**
+     * @param width        행당 카운터 수 (2의 거듭제곱으로 올림)
+     * @param depth        해시 함수(행) 수
+     * @param windowMillis 윈도우 길이
+     */
+    public SlidingWindowCounter(int width, int depth, long windowMillis) {
+        if (width <= 0 || width > MAX_WIDTH || depth <= 0) {
+            throw new IllegalArgumentException("width must be between 1 and " + MAX_WIDTH + ", depth positive");
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be positive");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.depth = depth;
+        this.windowMillis = windowMillis;
+        this.windows = new Window[]{new Window(this.width * depth), new Window(this.width * depth)};
+    }
+
+    /**
+     * 한 윈도우에 increments번 증가해도 다른 키의 과대 추정이 maxOvercount 이하가 되는 행당 카운터 수
+     * - count-min sketch 오차 한계 e * N / width (행이 d개면 1 - e^-d 확률로 성립, conservative update는 이보다 작음)
+     */
+    public static int widthFor(long increments, double maxOvercount) {
+        if (increments <= 0 || maxOvercount <= 0) {
+            throw new IllegalArgumentException("increments and maxOvercount must be positive");
+        }
+        return (int) Math.min(MAX_WIDTH, Math.max(1, Math.ceil(Math.E * increments / maxOvercount)));
+    }
+
+    /**
+     * 현재 윈도우에 1 증가 (conservative update)
+     */
+    public void increment(String key, long nowMillis) {
+        Window window = currentWindow(nowMillis / windowMillis);
+        if (window == null) {
+            return;
+        }
+        long hash1 = Hashing.hash1(key);
+        long hash2 = Hashing.hash2(hash1);
+        int target = count(window, hash1, hash2) + 1;
+        for (int row = 0; row < depth; row++) {
+            window.counts.accumulateAndGet(index(hash1, hash2, row), target, Math::max);
+        }
+    }
+
+    /**
+     * 직전 windowMillis 동안의 추정 횟수 (이전 윈도우는 겹치는 비율만큼 반영)
+     */
+    public double estimate(String key, long nowMillis) {
+        long epoch = nowMillis / windowMillis;
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+
+        long hash1 = Hashing.hash1(key);
+        long hash2 = Hashing.hash2(hash1);
+        return count(windowAt(epoch), hash1, hash2)
+                + count(windowAt(epoch - 1), hash1, hash2) * (1.0 - elapsed);
+    }
+
+    /**
+     * 현재 윈도우가 끝날 때까지 남은 시간
+     */
+    public long millisUntilNextWindow(long nowMillis) {
+        return windowMillis - (nowMillis % windowMillis);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    private Window currentWindow(long epoch) {
+        Window window = windows[(int) (epoch & 1)];
+        while (true) {
+            long current = window.epoch.get();
+            if (current == epoch) {
+                return window;
+            }
+            if (current > epoch) {
+                return null; // 이미 다음 윈도우로 넘어간 늦은 호출
+            }
+            if (window.epoch.compareAndSet(current, epoch)) {
+                // 비우는 동안 들어온 증가분 일부가 사라질 수 있으나 근사 카운터이므로 허용
+                for (int i = 0; i < window.counts.length(); i++) {
+                    window.counts.set(i, 0);
+                }
+                return window;
+            }
+        }
+    }
+
+    private Window windowAt(long epoch) {
+        Window window = windows[(int) (epoch & 1)];
+        return window.epoch.get() == epoch ? window : null;
+    }
+
+    private int count(Window window, long hash1, long hash2) {
+        if (window == null) {
+            return 0;
+        }
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, window.counts.get(index(hash1, hash2, row)));
+        }
+        return min;
+    }
+
+    private int index(long hash1, long hash2, int row) {
+        return row * width + (int) ((hash1 + row * hash2) & (width - 1));
+    }
+}
@@ -0,0 +1,172 @@
+package com.kabb.bloodbank.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 업로드 본문을 읽는 동안 검사하는 스트림
+ * - 앞부분 바이트(매직 넘버)로 실제 형식(PDF/JPEG/PNG/HEIC)을 판별하고, 선언된 Content-Type과 맞지 않으면 즉시 중단
+ * - 읽은 바이트 수를 세어 상한을 넘는 순간 중단 (클라이언트가 선언한 크기를 믿지 않음)
+ * 위반 시 IllegalArgumentException (나머지 본문은 읽지 않음)
+ */
+public class UploadValidatingInputStream extends FilterInputStream {
+
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final Set<String> HEIC_BRANDS = Set.of("heic", "heix", "hevc", "hevx", "heim", "heis", "mif1", "msf1");
+
+    public enum FileType {
+        PDF("application/pdf"),
+        JPEG("image/jpeg"),
+        PNG("image/png"),
+        HEIC("image/heic");
+
+        private final String mimeType;
+
+        FileType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+    }
+
+    private final String declaredContentType;
+    private final long maxBytes;
+    private final byte[] signature = new byte[SIGNATURE_LENGTH];
+    private int signatureLength;
+    private long count;
+    private FileType detectedType;
+
+    public UploadValidatingInputStream(InputStream in, String declaredContentType, long maxBytes) {
+        super(in);
+        this.declaredContentType = declaredContentType;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            onEnd();
+        } else {
+            inspect(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n == -1) {
+            onEnd();
+        } else if (n > 0) {
+            inspect(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // 건너뛴 바이트도 검사해야 하므로 읽어서 버림
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        int read = read(buffer, 0, buffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 판별된 실제 형식 (본문을 다 읽은 뒤 호출, 서명 길이보다 짧은 파일도 여기서 검사)
+     */
+    public FileType verifiedType() {
+        if (detectedType == null) {
+            verify();
+        }
+        return detectedType;
+    }
+
+    private void inspect(byte[] b, int off, int n) {
+        count += n;
+        if (count > maxBytes) {
+            throw new IllegalArgumentException("파일 크기는 " + (maxBytes / (1024 * 1024)) + "MB를 초과할 수 없습니다");
+        }
+        if (detectedType == null && signatureLength < SIGNATURE_LENGTH) {
+            int copy = Math.min(n, SIGNATURE_LENGTH - signatureLength);
+            System.arraycopy(b, off, signature, signatureLength, copy);
+            signatureLength += copy;
+            if (signatureLength == SIGNATURE_LENGTH) {
+                verify();
+            }
+        }
+    }
+
+    private void onEnd() {
+        if (detectedType == null && signatureLength > 0) {
+            verify(); // 서명 길이보다 짧은 파일
+        }
+    }
+
+    private void verify() {
+        FileType type = detect(signature, signatureLength);
+        if (type == null) {
+            throw new IllegalArgumentException("이미지 파일 또는 PDF 파일만 업로드 가능합니다");
+        }
+        if (!matchesDeclared(type)) {
+            throw new IllegalArgumentException("파일 내용이 선언된 형식(" + declaredContentType + ")과 일치하지 않습니다");
+        }
+        detectedType = type;
+    }
+
+    /**
+     * 선언된 형식과 같은 계열인지 (모바일 앱은 이미지 종류를 잘못 붙이는 경우가 많아 이미지끼리는 허용)
+     */
+    private boolean matchesDeclared(FileType type) {
+        if (declaredContentType == null) {
+            return false;
+        }
+        if (type == FileType.PDF) {
+            return declaredContentType.equals("application/pdf");
+        }
+        return declaredContentType.startsWith("image/");
+    }
+
+    /**
+     * 앞부분 바이트로 형식 판별
+     */
+    public static FileType detect(byte[] head, int length) {
+        if (startsWith(head, length, PDF_MAGIC)) {
+            return FileType.PDF;
+        }
+        if (startsWith(head, length, JPEG_MAGIC)) {
+            return FileType.JPEG;
+        }
+        if (startsWith(head, length, PNG_MAGIC)) {
+            return FileType.PNG;
+        }
+        // ISO BMFF: [4바이트 박스 크기]["ftyp"][브랜드]
+        if (length >= SIGNATURE_LENGTH
+                && new String(head, 4, 4, StandardCharsets.US_ASCII).equals("ftyp")
+                && HEIC_BRANDS.contains(new String(head, 8, 4, StandardCharsets.US_ASCII))) {
+            return FileType.HEIC;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, byte[] magic) {
+        return length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+}
@@ -7,19 +7,26 @@ import com.kabb.bloodbank.domain.enums.ApprovalStatus;
 import com.kabb.bloodbank.domain.enums.UserRole;
 import com.kabb.bloodbank.dto.request.LoginRequest;
 import com.kabb.bloodbank.repository.UserRepository;
+import com.kabb.bloodbank.service.UserCredentialCache;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -35,10 +42,13 @@ class AuthIntegrationTest {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserCredentialCache userCredentialCache;
 
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        userCredentialCache.invalidateAll();
     }
 
     @Test
@@ -78,6 +88,27 @@ class AuthIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true));
     }
 
+    @Test
+    void licenseEventStreamCompletesOnAsyncDispatch() throws Exception {
+        createUser("admin@example.com", "password123", UserRole.ADMIN);
+
+        String token = loginAndGetToken("admin@example.com", "password123");
+
+        MvcResult result = mockMvc.perform(get("/api/admin/licenses/events")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // 연결 시간이 다 되면 emitter가 종료되고 ASYNC 디스패치로 응답을 마무리 (이때는 JWT 필터가 다시 돌지 않음)
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
     private void createUser(String email, String rawPassword, UserRole role) {
         User user = User.builder()
                 .email(email)
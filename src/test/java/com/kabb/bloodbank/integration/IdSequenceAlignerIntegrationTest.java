@@ -0,0 +1,39 @@
+package com.kabb.bloodbank.integration;
+
+import com.kabb.bloodbank.config.IdSequenceAligner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdSequenceAlignerIntegrationTest {
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void restartsSequenceBehindExistingRows() {
+        // IDENTITY 시절에 쌓인 행처럼 시퀀스보다 훨씬 앞선 id
+        long legacyId = nextValue() + 1_000_000;
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into token_revocations (id, scope, user_id, revoked_before, expires_at, created_at) "
+                + "values (?, 'USER', 1, ?, ?, ?)", legacyId, now, now.plusHours(1), now);
+
+        idSequenceAligner.align();
+
+        assertTrue(nextValue() - 50 + 1 > legacyId); // 다음 블록의 첫 ID가 기존 행 뒤
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("select next value for token_revocations_seq", Long.class);
+    }
+}
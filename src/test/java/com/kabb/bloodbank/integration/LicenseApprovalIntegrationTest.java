@@ -0,0 +1,116 @@
+package com.kabb.bloodbank.integration;
+
+import com.kabb.bloodbank.domain.entity.License;
+import com.kabb.bloodbank.domain.entity.User;
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.request.SignUpRequest;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.repository.UserRepository;
+import com.kabb.bloodbank.service.LicenseApprovalService;
+import com.kabb.bloodbank.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LicenseApprovalIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private LicenseApprovalService licenseApprovalService;
+    @Autowired
+    private LicenseRepository licenseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentDecisionsOnSameLicenseOnlyOneWins() throws Exception {
+        Long userId = signUp();
+        License before = licenseRepository.findByUserId(userId).orElseThrow();
+        Long licenseId = before.getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            results.add(executor.submit(decide(start, () ->
+                    licenseApprovalService.approveLicense(licenseId, 1L, new MockHttpServletRequest()))));
+            results.add(executor.submit(decide(start, () ->
+                    licenseApprovalService.rejectLicense(licenseId, 2L, "판독 불가", new MockHttpServletRequest()))));
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get() ? 1 : 0;
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdown();
+        }
+
+        License license = licenseRepository.findById(licenseId).orElseThrow();
+        User user = userRepository.findById(userId).orElseThrow();
+        assertEquals(license.getApprovalStatus(), user.getApprovalStatus());
+        assertEquals(before.getVersion() + 1, license.getVersion()); // 한 번만 바뀜
+    }
+
+    @Test
+    void staleUserSnapshotCannotOverwriteApproval() throws Exception {
+        Long userId = signUp();
+        User stale = userRepository.findById(userId).orElseThrow();
+        licenseApprovalService.approveLicense(licenseRepository.findByUserId(userId).orElseThrow().getId(), 1L,
+                new MockHttpServletRequest());
+
+        stale.setActive(false);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userRepository.save(stale));
+        assertEquals(ApprovalStatus.APPROVED, userRepository.findById(userId).orElseThrow().getApprovalStatus());
+    }
+
+    private static Callable<Boolean> decide(CountDownLatch start, Runnable decision) {
+        return () -> {
+            start.await();
+            try {
+                decision.run();
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false; // 다른 관리자가 먼저 처리
+            }
+        };
+    }
+
+    private Long signUp() throws Exception {
+        String email = "approval-" + UUID.randomUUID() + "@example.com";
+        return userService.signUp(SignUpRequest.builder()
+                .email(email)
+                .password("password123")
+                .name("Approval User")
+                .phone("010-0000-0000")
+                .hospitalName("Approval Hospital")
+                .hospitalAddress("Seoul")
+                .hospitalPhone("02-000-0000")
+                .licenseFile(new MockMultipartFile("licenseFile", "license.pdf",
+                        "application/pdf", ("%PDF-1.4 " + email).getBytes()))
+                .privacyPolicyAgreed(true)
+                .termsOfServiceAgreed(true)
+                .sensitiveInfoAgreed(true)
+                .build(), null).getUserId();
+    }
+}
@@ -13,6 +13,7 @@ import com.kabb.bloodbank.repository.OrderRepository;
 import com.kabb.bloodbank.repository.PaymentRepository;
 import com.kabb.bloodbank.repository.UserRepository;
 import com.kabb.bloodbank.service.TossPaymentService;
+import com.kabb.bloodbank.service.UserCredentialCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,6 +51,8 @@ class PaymentIntegrationTest {
     private PaymentRepository paymentRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserCredentialCache userCredentialCache;
 
     @MockBean
     private TossPaymentService tossPaymentService;
@@ -59,6 +62,7 @@ class PaymentIntegrationTest {
         paymentRepository.deleteAll();
         orderRepository.deleteAll();
         userRepository.deleteAll();
+        userCredentialCache.invalidateAll();
     }
 
     @Test
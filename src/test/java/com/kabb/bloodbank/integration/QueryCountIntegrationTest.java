@@ -0,0 +1,152 @@
+package com.kabb.bloodbank.integration;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.request.LicenseDecisionRequest;
+import com.kabb.bloodbank.dto.request.LoginRequest;
+import com.kabb.bloodbank.dto.request.SignUpRequest;
+import com.kabb.bloodbank.dto.response.LicenseDecisionResult;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.service.LicenseApprovalService;
+import com.kabb.bloodbank.service.UserCredentialCache;
+import com.kabb.bloodbank.service.UserService;
+import com.kabb.bloodbank.util.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 주요 흐름의 JDBC 문 수 고정 (N+1 회귀 감지)
+ * - 각 측정 전에 같은 흐름을 한 번 실행해 시퀀스 블록 할당을 측정에서 제외
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private LicenseApprovalService licenseApprovalService;
+    @Autowired
+    private LicenseRepository licenseRepository;
+    @Autowired
+    private UserCredentialCache userCredentialCache;
+
+    @Test
+    void signUp() throws Exception {
+        signUp(uniqueEmail());
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        signUp(uniqueEmail());
+
+        // existsByEmail 1 + user, hospital, license, agreements(한 배치), audit log INSERT
+        assertEquals(6, scope.count());
+    }
+
+    @Test
+    void login() throws Exception {
+        String email = uniqueEmail();
+        signUp(email);
+        userService.login(new LoginRequest(email, "password123"), new MockHttpServletRequest());
+        userCredentialCache.invalidate(email);
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        userService.login(new LoginRequest(email, "password123"), new MockHttpServletRequest());
+
+        // 인증 정보 프로젝션 1 + refresh token INSERT + audit log INSERT
+        assertEquals(3, scope.count());
+    }
+
+    @Test
+    void loginFromCache() throws Exception {
+        String email = uniqueEmail();
+        signUp(email);
+        userService.login(new LoginRequest(email, "password123"), new MockHttpServletRequest()); // 캐시 적재
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        userService.login(new LoginRequest(email, "password123"), new MockHttpServletRequest());
+
+        // 사용자 조회 없음: refresh token INSERT + audit log INSERT
+        assertEquals(2, scope.count());
+    }
+
+    @Test
+    void getPendingLicensesIsOneQueryRegardlessOfPageSize() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            signUp(uniqueEmail());
+        }
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        licenseApprovalService.getPendingLicenses(50, null, false, null, null);
+
+        assertEquals(1, scope.count());
+    }
+
+    @Test
+    void approveLicense() throws Exception {
+        Long warmup = signUp(uniqueEmail());
+        Long measured = signUp(uniqueEmail());
+        licenseApprovalService.approveLicense(licenseIdOf(warmup), 1L, new MockHttpServletRequest());
+        Long licenseId = licenseIdOf(measured);
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        licenseApprovalService.approveLicense(licenseId, 1L, new MockHttpServletRequest());
+
+        // license 조건부 UPDATE + user UPDATE + 면허증/사용자/병원 조회 1 + audit log INSERT
+        assertEquals(4, scope.count());
+    }
+
+    @Test
+    void bulkDecisionStatementsDoNotGrowWithItemCount() throws Exception {
+        licenseApprovalService.decideLicenses(List.of(approve(licenseIdOf(signUp(uniqueEmail())))), 1L,
+                new MockHttpServletRequest());
+        List<LicenseDecisionRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(approve(licenseIdOf(signUp(uniqueEmail()))));
+        }
+
+        QueryCounter.Scope scope = QueryCounter.start();
+        LicenseDecisionResult result = licenseApprovalService.decideLicenses(items, 1L, new MockHttpServletRequest());
+
+        assertEquals(3, result.getSucceeded());
+        // 대상 조회 1 + license UPDATE 1 + user UPDATE 1 + audit log 배치 INSERT 1
+        assertEquals(4, scope.count());
+    }
+
+    private static LicenseDecisionRequest.Item approve(Long licenseId) {
+        return LicenseDecisionRequest.Item.builder().licenseId(licenseId).decision(ApprovalStatus.APPROVED).build();
+    }
+
+    private Long licenseIdOf(Long userId) {
+        return licenseRepository.findByUserId(userId).orElseThrow().getId();
+    }
+
+    private Long signUp(String email) throws Exception {
+        return userService.signUp(SignUpRequest.builder()
+                .email(email)
+                .password("password123")
+                .name("Query User")
+                .phone("010-0000-0000")
+                .hospitalName("Query Hospital")
+                .hospitalAddress("Seoul")
+                .hospitalPhone("02-000-0000")
+                .licenseFile(new MockMultipartFile("licenseFile", "license.pdf",
+                        "application/pdf", ("%PDF-1.4 " + email).getBytes()))
+                .privacyPolicyAgreed(true)
+                .termsOfServiceAgreed(true)
+                .sensitiveInfoAgreed(true)
+                .build(), null).getUserId();
+    }
+
+    private static String uniqueEmail() {
+        return "query-" + UUID.randomUUID() + "@example.com";
+    }
+}
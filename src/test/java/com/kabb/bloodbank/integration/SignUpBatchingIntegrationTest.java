@@ -0,0 +1,67 @@
+package com.kabb.bloodbank.integration;
+
+import com.kabb.bloodbank.dto.request.SignUpRequest;
+import com.kabb.bloodbank.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ActiveProfiles("test")
+class SignUpBatchingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void signUpSendsOneStatementPerTable() throws Exception {
+        // 첫 가입은 시퀀스 블록을 할당하므로 측정에서 제외
+        userService.signUp(signUpRequest("warmup@example.com"), null);
+
+        statistics.clear();
+        userService.signUp(signUpRequest("batched@example.com"), null);
+
+        // user, hospital, license, agreement x3, audit log
+        assertEquals(7, statistics.getEntityInsertCount());
+        // existsByEmail 조회 1 + 테이블별 INSERT 배치 5 (agreements 3건은 한 배치), 시퀀스 조회 없음
+        assertEquals(6, statistics.getPrepareStatementCount());
+    }
+
+    private SignUpRequest signUpRequest(String email) {
+        return SignUpRequest.builder()
+                .email(email)
+                .password("password123")
+                .name("Batch User")
+                .phone("010-0000-0000")
+                .hospitalName("Batch Hospital")
+                .hospitalAddress("Seoul")
+                .hospitalPhone("02-000-0000")
+                .licenseFile(new MockMultipartFile("licenseFile", "license.pdf",
+                        "application/pdf", "%PDF-1.4 test".getBytes()))
+                .privacyPolicyAgreed(true)
+                .termsOfServiceAgreed(true)
+                .sensitiveInfoAgreed(true)
+                .build();
+    }
+}
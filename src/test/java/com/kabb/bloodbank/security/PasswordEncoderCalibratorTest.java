@@ -0,0 +1,29 @@
+package com.kabb.bloodbank.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PasswordEncoderCalibratorTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void chooseStrength_PicksHighestStrengthWithinTarget() {
+        // strength 8 = 4ms → 10 = 16ms, 11 = 32ms, 12 = 64ms, 13 = 128ms, 14 = 256ms
+        assertEquals(13, PasswordEncoderCalibrator.chooseStrength(4 * MILLIS, 8, 250));
+        assertEquals(14, PasswordEncoderCalibrator.chooseStrength(4 * MILLIS, 8, 256));
+    }
+
+    @Test
+    void chooseStrength_NeverBelowMinimum() {
+        assertEquals(PasswordEncoderCalibrator.MIN_BCRYPT_STRENGTH,
+                PasswordEncoderCalibrator.chooseStrength(100 * MILLIS, 8, 50));
+    }
+
+    @Test
+    void chooseStrength_CappedAtMaximum() {
+        assertEquals(PasswordEncoderCalibrator.MAX_BCRYPT_STRENGTH,
+                PasswordEncoderCalibrator.chooseStrength(1, 8, 10_000));
+    }
+}
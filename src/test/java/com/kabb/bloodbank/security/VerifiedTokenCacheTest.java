@@ -0,0 +1,79 @@
+package com.kabb.bloodbank.security;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void repeatedTokenIsVerifiedOnlyOnce() {
+        VerifiedTokenCache cache = createCache(true);
+        AtomicInteger verifications = new AtomicInteger();
+        JwtPrincipal principal = new JwtPrincipal(1L, "test@example.com", "USER", "jti-1", Instant.now(), Instant.now().plusSeconds(3600));
+
+        for (int i = 0; i < 5; i++) {
+            Optional<JwtPrincipal> result = cache.getOrVerify("token", token -> {
+                verifications.incrementAndGet();
+                return Optional.of(principal);
+            });
+            assertTrue(result.isPresent());
+        }
+
+        assertEquals(1, verifications.get());
+        assertEquals(4, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void expiredPrincipalIsNotServedFromCache() {
+        VerifiedTokenCache cache = createCache(true);
+        AtomicInteger verifications = new AtomicInteger();
+        JwtPrincipal expired = new JwtPrincipal(1L, "test@example.com", "USER", "jti-1", Instant.now(), Instant.now().minusSeconds(1));
+
+        cache.getOrVerify("token", token -> {
+            verifications.incrementAndGet();
+            return Optional.of(expired);
+        });
+        cache.getOrVerify("token", token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysVerifies() {
+        VerifiedTokenCache cache = createCache(false);
+        AtomicInteger verifications = new AtomicInteger();
+        JwtPrincipal principal = new JwtPrincipal(1L, "test@example.com", "USER", "jti-1", Instant.now(), Instant.now().plusSeconds(3600));
+
+        cache.getOrVerify("token", token -> {
+            verifications.incrementAndGet();
+            return Optional.of(principal);
+        });
+        cache.getOrVerify("token", token -> {
+            verifications.incrementAndGet();
+            return Optional.of(principal);
+        });
+
+        assertFalse(cache.isEnabled());
+        assertEquals(2, verifications.get());
+    }
+
+    private VerifiedTokenCache createCache(boolean enabled) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+        return new VerifiedTokenCache(enabled, 1000, 1024 * 1024, new JwtKeyRing(properties), new SimpleMeterRegistry());
+    }
+}
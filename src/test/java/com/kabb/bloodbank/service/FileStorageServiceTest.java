@@ -1,33 +1,44 @@
 package com.kabb.bloodbank.service;
 
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class FileStorageServiceTest {
 
     @TempDir
     Path tempDir;
 
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+
     @Test
     void storeLicenseFileSavesPdf() throws IOException {
-        FileStorageService service = new FileStorageService();
-        ReflectionTestUtils.setField(service, "licenseUploadDir", tempDir.toString());
+        FileStorageService service = newService(false);
 
         MockMultipartFile file = new MockMultipartFile(
                 "licenseFile",
                 "license.pdf",
                 "application/pdf",
-                "test".getBytes()
+                pdf("test")
         );
 
         FileStorageService.FileStorageResult result = service.storeLicenseFile(file);
@@ -36,13 +47,12 @@ class FileStorageServiceTest {
         assertTrue(Files.exists(storedPath));
         assertEquals("license.pdf", result.getOriginalFileName());
         assertEquals("application/pdf", result.getContentType());
-        assertEquals(4, result.getFileSize());
+        assertEquals(9, result.getFileSize());
     }
 
     @Test
     void storeLicenseFileRejectsLargeFile() {
-        FileStorageService service = new FileStorageService();
-        ReflectionTestUtils.setField(service, "licenseUploadDir", tempDir.toString());
+        FileStorageService service = newService(false);
 
         byte[] largeContent = new byte[(10 * 1024 * 1024) + 1];
         MockMultipartFile file = new MockMultipartFile(
@@ -57,8 +67,7 @@ class FileStorageServiceTest {
 
     @Test
     void storeLicenseFileRejectsInvalidContentType() {
-        FileStorageService service = new FileStorageService();
-        ReflectionTestUtils.setField(service, "licenseUploadDir", tempDir.toString());
+        FileStorageService service = newService(false);
 
         MockMultipartFile file = new MockMultipartFile(
                 "licenseFile",
@@ -69,4 +78,229 @@ class FileStorageServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> service.storeLicenseFile(file));
     }
+
+    @Test
+    void stagedFileMovesToFinalLocationOnPromote() throws IOException {
+        FileStorageService service = newService(false);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "licenseFile",
+                "license.pdf",
+                "application/pdf",
+                pdf("test")
+        );
+
+        FileStorageService.FileStorageResult result = service.stageLicenseFile(file);
+        Path stagedPath = Path.of(result.getStagedPath());
+        Path finalPath = Path.of(result.getFilePath());
+        assertTrue(Files.exists(stagedPath));
+        assertFalse(Files.exists(finalPath));
+
+        service.promote(result);
+
+        assertFalse(Files.exists(stagedPath));
+        assertTrue(Files.exists(finalPath));
+        assertNull(result.getStagedPath());
+    }
+
+    @Test
+    void discardStagedDeletesStagedFile() throws IOException {
+        FileStorageService service = newService(false);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "licenseFile",
+                "license.pdf",
+                "application/pdf",
+                pdf("test")
+        );
+
+        FileStorageService.FileStorageResult result = service.stageLicenseFile(file);
+        Path stagedPath = Path.of(result.getStagedPath());
+
+        service.discardStaged(result);
+
+        assertFalse(Files.exists(stagedPath));
+        assertFalse(Files.exists(Path.of(result.getFilePath())));
+    }
+
+    @Test
+    void stageLicenseStreamComputesSizeAndHashInOnePass() throws Exception {
+        FileStorageService service = newService(false);
+        ReflectionTestUtils.setField(service, "inMemoryThreshold", 1024);
+
+        // 임계값보다 큰 본문은 채널 전송 경로로 기록
+        byte[] content = new byte[100_000];
+        new java.util.Random(7).nextBytes(content);
+        markAsJpeg(content);
+
+        FileStorageService.FileStorageResult result = service.stageLicenseStream(
+                new ByteArrayInputStream(content), "scan.jpg", "image/jpeg");
+
+        assertEquals(content.length, result.getFileSize());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)),
+                result.getContentHash());
+        assertArrayEquals(content, Files.readAllBytes(Path.of(result.getStagedPath())));
+    }
+
+    @Test
+    void stageLicenseStreamRejectsOversizedBodyAndCleansUp() throws IOException {
+        FileStorageService service = newService(false);
+
+        byte[] content = new byte[(10 * 1024 * 1024) + 1];
+        System.arraycopy(pdf(""), 0, content, 0, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> service.stageLicenseStream(
+                new ByteArrayInputStream(content), "license.pdf", "application/pdf"));
+        try (var staged = Files.list(tempDir.resolve(".staging"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void contentAddressedStoreKeepsIdenticalUploadsOnce() throws IOException {
+        FileStorageService service = newService(true);
+
+        MockMultipartFile first = new MockMultipartFile("licenseFile", "a.pdf", "application/pdf", pdf("same"));
+        MockMultipartFile second = new MockMultipartFile("licenseFile", "b.pdf", "application/pdf", pdf("same"));
+
+        FileStorageService.FileStorageResult stored = service.storeLicenseFile(first);
+        FileStorageService.FileStorageResult reused = service.stageLicenseFile(second);
+
+        assertEquals(stored.getContentHash(), stored.getStoredFileName());
+        assertEquals(stored.getFilePath(), reused.getFilePath());
+        assertNull(reused.getStagedPath()); // 같은 내용은 다시 쓰지 않음
+        try (var files = Files.walk(tempDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void fanOutLayoutNestsFilesByNamePrefix() throws IOException {
+        FileStorageService service = newService(true);
+
+        FileStorageService.FileStorageResult stored = service.storeLicenseFile(
+                new MockMultipartFile("licenseFile", "a.pdf", "application/pdf", pdf("nested")));
+
+        String hash = stored.getStoredFileName();
+        assertEquals(tempDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash),
+                Path.of(stored.getFilePath()));
+        assertTrue(Files.exists(Path.of(stored.getFilePath())));
+    }
+
+    @Test
+    void fanOutLayoutReusesLegacyFlatFile() throws Exception {
+        FileStorageService service = newService(true);
+        byte[] content = pdf("legacy");
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        Path legacy = Files.write(tempDir.resolve(hash), content); // 이전 전 평면 구조 파일
+
+        FileStorageService.FileStorageResult reused = service.stageLicenseFile(
+                new MockMultipartFile("licenseFile", "a.pdf", "application/pdf", content));
+
+        assertEquals(legacy.toString(), reused.getFilePath());
+        assertNull(reused.getStagedPath());
+    }
+
+    @Test
+    void contentAddressedStoreDedupesLargeUploadAtPromote() throws IOException {
+        FileStorageService service = newService(true);
+        ReflectionTestUtils.setField(service, "inMemoryThreshold", 16);
+
+        byte[] content = new byte[4096];
+        new java.util.Random(3).nextBytes(content);
+        markAsJpeg(content);
+        FileStorageService.FileStorageResult first = service.stageLicenseStream(
+                new ByteArrayInputStream(content), "a.jpg", "image/jpeg");
+        FileStorageService.FileStorageResult second = service.stageLicenseStream(
+                new ByteArrayInputStream(content), "b.jpg", "image/jpeg");
+
+        service.promote(first);
+        service.promote(second);
+
+        assertEquals(first.getFilePath(), second.getFilePath());
+        assertArrayEquals(content, Files.readAllBytes(Path.of(first.getFilePath())));
+        try (var staged = Files.list(tempDir.resolve(".staging"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void deleteLicenseFileIfUnreferencedKeepsSharedFiles() throws IOException {
+        FileStorageService service = newService(true);
+        FileStorageService.FileStorageResult stored = service.storeLicenseFile(
+                new MockMultipartFile("licenseFile", "a.pdf", "application/pdf", pdf("shared")));
+
+        when(licenseRepository.countByStoredFileName(stored.getStoredFileName())).thenReturn(1L);
+        assertFalse(service.deleteLicenseFileIfUnreferenced(stored.getStoredFileName()));
+        assertTrue(Files.exists(Path.of(stored.getFilePath())));
+
+        when(licenseRepository.countByStoredFileName(stored.getStoredFileName())).thenReturn(0L);
+        assertTrue(service.deleteLicenseFileIfUnreferenced(stored.getStoredFileName()));
+        assertFalse(Files.exists(Path.of(stored.getFilePath())));
+    }
+
+    @Test
+    void stageLicenseStreamRejectsMislabeledContentBeforeReadingTheRest() throws IOException {
+        FileStorageService service = newService(false);
+        CountingInputStream body = new CountingInputStream(new ByteArrayInputStream(new byte[5 * 1024 * 1024]));
+
+        // PDF로 선언했지만 앞부분이 PDF 서명이 아님
+        assertThrows(IllegalArgumentException.class,
+                () -> service.stageLicenseStream(body, "license.pdf", "application/pdf"));
+        assertTrue(body.count <= 64 * 1024); // 첫 청크에서 중단
+        try (var staged = Files.list(tempDir.resolve(".staging"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void stageLicenseStreamRejectsPdfDeclaredAsImage() {
+        FileStorageService service = newService(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.stageLicenseStream(
+                new ByteArrayInputStream(pdf("body")), "scan.jpg", "image/jpeg"));
+    }
+
+    @Test
+    void stageLicenseStreamStoresDetectedImageType() throws IOException {
+        FileStorageService service = newService(false);
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+        // 모바일 앱이 PNG를 image/jpeg로 보내도 허용하고 실제 형식으로 저장
+        FileStorageService.FileStorageResult result = service.stageLicenseStream(
+                new ByteArrayInputStream(png), "scan.jpg", "image/jpeg");
+
+        assertEquals("image/png", result.getContentType());
+    }
+
+    private static byte[] pdf(String body) {
+        return ("%PDF-" + body).getBytes();
+    }
+
+    private static void markAsJpeg(byte[] content) {
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xD8;
+        content[2] = (byte) 0xFF;
+    }
+
+    private static class CountingInputStream extends java.io.FilterInputStream {
+        private long count;
+
+        CountingInputStream(java.io.InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    private FileStorageService newService(boolean contentAddressed) {
+        return new FileStorageService(new FileSystemLicenseBlobStore(tempDir, contentAddressed, true), licenseRepository);
+    }
 }
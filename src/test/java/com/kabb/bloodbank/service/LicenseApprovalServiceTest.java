@@ -0,0 +1,209 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.projection.LicenseDecisionTarget;
+import com.kabb.bloodbank.dto.request.LicenseDecisionRequest;
+import com.kabb.bloodbank.dto.response.CursorPageResponse;
+import com.kabb.bloodbank.dto.response.LicenseApprovalResponse;
+import com.kabb.bloodbank.dto.response.LicenseDecisionResult;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LicenseApprovalServiceTest {
+
+    private static final LocalDateTime SUBMITTED = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123456000);
+
+    @Mock
+    private LicenseRepository licenseRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AuditLogService auditLogService;
+    @Mock
+    private UserCredentialCache userCredentialCache;
+    @Mock
+    private LicenseThumbnailService licenseThumbnailService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private LicenseReviewEventService licenseReviewEventService;
+
+    @InjectMocks
+    private LicenseApprovalService licenseApprovalService;
+
+    @Test
+    void returnsCursorForNextPageWhenMoreRowsExist() {
+        when(licenseRepository.findApprovalPageAscending(eq(ApprovalStatus.PENDING), any(), eq(""), any(), eq(0L),
+                eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(row(1L, SUBMITTED), row(2L, SUBMITTED), row(3L, SUBMITTED.plusSeconds(1))));
+        when(licenseThumbnailService.findThumbnail(any())).thenReturn(Optional.empty());
+
+        CursorPageResponse<LicenseApprovalResponse> page =
+                licenseApprovalService.getPendingLicenses(2, null, false, null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        LicenseApprovalService.PageCursor cursor = LicenseApprovalService.decodeCursor(page.getNextCursor());
+        assertEquals(SUBMITTED, cursor.createdAt());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void continuesFromCursorNewestFirst() {
+        String cursor = LicenseApprovalService.encodeCursor(SUBMITTED, 5L);
+        when(licenseRepository.findApprovalPageDescending(eq(ApprovalStatus.PENDING), any(), eq("서울!_%"),
+                eq(SUBMITTED), eq(5L), any())).thenReturn(List.of(row(4L, SUBMITTED)));
+        when(licenseThumbnailService.findThumbnail(any())).thenReturn(Optional.empty());
+
+        CursorPageResponse<LicenseApprovalResponse> page =
+                licenseApprovalService.getPendingLicenses(10, cursor, true, null, "서울_");
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        verify(licenseThumbnailService).requestThumbnail("stored-4", "/files/stored-4", "application/pdf");
+    }
+
+    @Test
+    void rejectsMalformedCursorAndPageSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> licenseApprovalService.getPendingLicenses(10, "not-a-cursor", false, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> licenseApprovalService.getPendingLicenses(0, null, false, null, null));
+    }
+
+    @Test
+    void approveFailsWithoutReadingWhenLicenseIsNoLongerPending() {
+        when(licenseRepository.updateDecision(eq(List.of(1L)), eq(ApprovalStatus.PENDING), eq(ApprovalStatus.APPROVED),
+                eq(7L), isNull(), any())).thenReturn(0);
+        when(licenseRepository.existsById(1L)).thenReturn(true);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> licenseApprovalService.approveLicense(1L, 7L, null));
+
+        assertEquals("승인 대기 상태의 면허증만 승인할 수 있습니다", e.getMessage());
+        verify(licenseRepository, never()).findWithUserAndHospitalById(any());
+        verify(userRepository, never()).updateApprovalStatusByLicenseId(any(), any(), any());
+    }
+
+    @Test
+    void rejectReportsMissingLicense() {
+        when(licenseRepository.updateDecision(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(licenseRepository.existsById(1L)).thenReturn(false);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> licenseApprovalService.rejectLicense(1L, 7L, "판독 불가", null));
+
+        assertEquals("면허증을 찾을 수 없습니다", e.getMessage());
+    }
+
+    @Test
+    void bulkDecisionGroupsUpdatesAndReportsEachItem() {
+        runTransactionsInline();
+        when(licenseRepository.findDecisionTargets(List.of(1L, 2L, 9L)))
+                .thenReturn(List.of(target(1L, ApprovalStatus.PENDING), target(2L, ApprovalStatus.PENDING)));
+        when(licenseRepository.updateDecision(any(), eq(ApprovalStatus.PENDING), any(), eq(7L), any(), any()))
+                .thenReturn(1);
+
+        LicenseDecisionResult result = licenseApprovalService.decideLicenses(List.of(
+                item(1L, ApprovalStatus.APPROVED, null),
+                item(2L, ApprovalStatus.REJECTED, " 판독 불가 "),
+                item(3L, ApprovalStatus.REJECTED, " "),   // 사유 없음
+                item(1L, ApprovalStatus.APPROVED, null),  // 중복
+                item(9L, ApprovalStatus.APPROVED, null)   // 없는 면허증
+        ), 7L, null);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(true, true, false, false, false),
+                result.getResults().stream().map(LicenseDecisionResult.Item::isSuccess).toList());
+        verify(licenseRepository).updateDecision(eq(List.of(1L)), eq(ApprovalStatus.PENDING),
+                eq(ApprovalStatus.APPROVED), eq(7L), isNull(), any());
+        verify(licenseRepository).updateDecision(eq(List.of(2L)), eq(ApprovalStatus.PENDING),
+                eq(ApprovalStatus.REJECTED), eq(7L), eq("판독 불가"), any());
+        verify(userRepository).updateApprovalStatus(eq(List.of(101L)), eq(ApprovalStatus.APPROVED), any());
+        verify(userRepository).updateApprovalStatus(eq(List.of(102L)), eq(ApprovalStatus.REJECTED), any());
+        verify(userCredentialCache).invalidate("user-1@example.com");
+        verify(licenseReviewEventService).publish(ApprovalStatus.REJECTED, 2L, 102L);
+    }
+
+    @Test
+    void bulkDecisionSkipsRowsDecidedConcurrently() {
+        runTransactionsInline();
+        when(licenseRepository.findDecisionTargets(any()))
+                .thenReturn(List.of(target(1L, ApprovalStatus.PENDING), target(2L, ApprovalStatus.PENDING)));
+        when(licenseRepository.updateDecision(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(licenseRepository.findDecidedIds(any(), any(), any(), any())).thenReturn(List.of(2L));
+
+        LicenseDecisionResult result = licenseApprovalService.decideLicenses(List.of(
+                item(1L, ApprovalStatus.APPROVED, null),
+                item(2L, ApprovalStatus.APPROVED, null)
+        ), 7L, null);
+
+        assertFalse(result.getResults().get(0).isSuccess());
+        assertTrue(result.getResults().get(1).isSuccess());
+        verify(userRepository).updateApprovalStatus(eq(List.of(102L)), eq(ApprovalStatus.APPROVED), any());
+    }
+
+    @Test
+    void bulkDecisionFailsOnlyTheBrokenChunk() {
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        ReflectionTestUtils.setField(licenseApprovalService, "bulkChunkSize", 1);
+        when(licenseRepository.findDecisionTargets(List.of(2L))).thenReturn(List.of(target(2L, ApprovalStatus.PENDING)));
+        when(licenseRepository.updateDecision(any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        LicenseDecisionResult result = licenseApprovalService.decideLicenses(List.of(
+                item(1L, ApprovalStatus.APPROVED, null),
+                item(2L, ApprovalStatus.APPROVED, null)
+        ), 7L, null);
+
+        assertFalse(result.getResults().get(0).isSuccess());
+        assertTrue(result.getResults().get(1).isSuccess());
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static LicenseDecisionRequest.Item item(Long licenseId, ApprovalStatus decision, String reason) {
+        return LicenseDecisionRequest.Item.builder().licenseId(licenseId).decision(decision).reason(reason).build();
+    }
+
+    private static LicenseDecisionTarget target(Long licenseId, ApprovalStatus status) {
+        return new LicenseDecisionTarget(licenseId, licenseId + 100, "user-" + licenseId + "@example.com", status);
+    }
+
+    private static LicenseApprovalResponse row(Long id, LocalDateTime submittedAt) {
+        return new LicenseApprovalResponse(id, id + 100, "user-" + id, "병원", ApprovalStatus.PENDING, null, null,
+                submittedAt, "stored-" + id, "/files/stored-" + id, "application/pdf");
+    }
+}
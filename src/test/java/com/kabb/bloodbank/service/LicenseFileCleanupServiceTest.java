@@ -0,0 +1,173 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.entity.License;
+import com.kabb.bloodbank.dto.projection.LicenseFileRef;
+import com.kabb.bloodbank.dto.response.LicenseFileCleanupReport;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LicenseFileCleanupServiceTest {
+
+    private static final String HASH_A = "ab12" + "0".repeat(60);
+    private static final String HASH_B = "ab34" + "1".repeat(60);
+    private static final String HASH_C = "cd56" + "2".repeat(60);
+
+    @TempDir
+    Path tempDir;
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final List<LicenseFileRef> rows = new ArrayList<>();
+    private FileSystemLicenseBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSystemLicenseBlobStore(tempDir, true, true);
+        when(licenseRepository.findFileRefsByStoredFileNameIn(any())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return rows.stream().filter(row -> names.contains(row.getStoredFileName())).toList();
+        });
+    }
+
+    @Test
+    void deletesOldUnreferencedFilesAndReportsBytes() throws IOException {
+        Path referenced = blob(HASH_A, "referenced", true);
+        Path orphan = blob(HASH_B, "orphan!", true);
+        Path recentOrphan = blob(HASH_C, "recent", false);
+        rows.add(new LicenseFileRef(1L, HASH_A, referenced.toString()));
+
+        LicenseFileCleanupReport report = service(2, false).run(false);
+
+        assertTrue(Files.exists(referenced));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(recentOrphan)); // 유예 기간 안
+        assertEquals(3, report.getScanned());
+        assertEquals(1, report.getDeleted());
+        assertEquals("orphan!".length(), report.getBytesReclaimed());
+    }
+
+    @Test
+    void dryRunOnlyCounts() throws IOException {
+        Path orphan = blob(HASH_B, "orphan!", true);
+
+        LicenseFileCleanupReport report = service(2, false).run(true);
+
+        assertTrue(Files.exists(orphan));
+        assertTrue(report.isDryRun());
+        assertEquals(1, report.getOrphaned());
+        assertEquals(0, report.getDeleted());
+        assertEquals("orphan!".length(), report.getBytesReclaimed());
+    }
+
+    @Test
+    void keepsThumbnailsOfReferencedFilesOnly() throws IOException {
+        Path referenced = blob(HASH_A, "referenced", true);
+        rows.add(new LicenseFileRef(1L, HASH_A, referenced.toString()));
+        Path keptThumbnail = blob(HASH_A + LicenseThumbnailService.THUMBNAIL_SUFFIX, "thumb", true);
+        Path orphanThumbnail = blob(HASH_B + LicenseThumbnailService.THUMBNAIL_SUFFIX, "thumb", true);
+
+        service(10, false).run(false);
+
+        assertTrue(Files.exists(keptThumbnail));
+        assertFalse(Files.exists(orphanThumbnail));
+    }
+
+    @Test
+    void removesLeftoverFlatNameAfterMigration() throws IOException {
+        Path current = blob(HASH_A, "content", true);
+        Path leftover = old(Files.write(tempDir.resolve(HASH_A), "content".getBytes()));
+        rows.add(new LicenseFileRef(1L, HASH_A, current.toString()));
+
+        service(10, false).run(false);
+
+        assertTrue(Files.exists(current));
+        assertFalse(Files.exists(leftover));
+    }
+
+    @Test
+    void keepsFlatFileStillReferencedByRow() throws IOException {
+        Path flat = old(Files.write(tempDir.resolve(HASH_A), "content".getBytes()));
+        rows.add(new LicenseFileRef(1L, HASH_A, flat.toString()));
+
+        service(10, false).run(false);
+
+        assertTrue(Files.exists(flat));
+    }
+
+    @Test
+    void removesStaleStagedUploads() throws IOException {
+        Path staging = Files.createDirectories(tempDir.resolve(FileStorageService.STAGING_DIR_NAME));
+        Path stale = old(Files.write(staging.resolve("stale.pdf"), "x".getBytes()));
+        Path inProgress = Files.write(staging.resolve("in-progress.pdf"), "y".getBytes());
+
+        service(10, false).run(false);
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(inProgress));
+    }
+
+    @Test
+    void promotesStagedUploadOfCommittedSignUpInsteadOfDeleting() throws IOException {
+        Path staging = Files.createDirectories(tempDir.resolve(FileStorageService.STAGING_DIR_NAME));
+        Path committed = old(Files.write(staging.resolve("committed.pdf"), "license".getBytes()));
+        when(licenseRepository.findByStagedFileNameIn(any())).thenReturn(List.of(License.builder()
+                .storedFileName(HASH_A)
+                .stagedFileName("committed.pdf")
+                .build()));
+        rows.add(new LicenseFileRef(1L, HASH_A, store.resolve(HASH_A).toString()));
+
+        LicenseFileCleanupReport report = service(10, false).run(false);
+
+        assertFalse(Files.exists(committed));
+        assertEquals("license", Files.readString(store.resolve(HASH_A)));
+        assertEquals(0, report.getDeleted());
+    }
+
+    @Test
+    void checksReferencesInBatches() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            blob("ab12" + String.valueOf(i).repeat(60), "x", true); // 모두 같은 최상위 디렉토리
+        }
+
+        service(2, true).run(true);
+
+        verify(licenseRepository, times(3)).findFileRefsByStoredFileNameIn(any());
+    }
+
+    private LicenseFileCleanupService service(int batchSize, boolean dryRun) {
+        return new LicenseFileCleanupService(licenseRepository, store, Duration.ofHours(1), batchSize, 2, dryRun);
+    }
+
+    private Path blob(String storedFileName, String content, boolean old) throws IOException {
+        Path path = store.resolve(storedFileName);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes());
+        return old ? old(path) : path;
+    }
+
+    private static Path old(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        return path;
+    }
+}
@@ -0,0 +1,122 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.entity.License;
+import com.kabb.bloodbank.domain.entity.User;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LicenseFileDownloadServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path tempDir;
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final AuditLogService auditLogService = mock(AuditLogService.class);
+    private LicenseFileDownloadService service;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        content = "%PDF-0123456789".getBytes();
+        Path file = Files.write(tempDir.resolve(HASH), content);
+        License license = License.builder()
+                .id(1L)
+                .user(User.builder().id(7L).build())
+                .fileName("면허증.pdf")
+                .storedFileName(HASH)
+                .filePath(file.toString())
+                .fileSize((long) content.length)
+                .contentType("application/pdf")
+                .contentHash(HASH)
+                .build();
+        when(licenseRepository.findById(1L)).thenReturn(Optional.of(license));
+        service = new LicenseFileDownloadService(licenseRepository, auditLogService,
+                mock(LicenseThumbnailService.class), new FileSystemLicenseBlobStore(tempDir, true, true));
+    }
+
+    @Test
+    void sendsWholeFileWithStrongEtag() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingEtag() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "\"" + HASH + "\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void servesSingleRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=5-9");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/" + content.length, response.getHeader("Content-Range"));
+        assertEquals("01234", response.getContentAsString());
+    }
+
+    @Test
+    void handsFileToTomcatSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=-4");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals((long) content.length - 4, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) content.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void parsesRangeHeaders() {
+        assertArrayEquals(new long[]{0, 99}, LicenseFileDownloadService.parseRange("bytes=0-", 100));
+        assertArrayEquals(new long[]{90, 99}, LicenseFileDownloadService.parseRange("bytes=-10", 100));
+        assertArrayEquals(new long[]{10, 99}, LicenseFileDownloadService.parseRange("bytes=10-500", 100));
+        assertSame(LicenseFileDownloadService.UNSATISFIABLE, LicenseFileDownloadService.parseRange("bytes=100-", 100));
+        assertNull(LicenseFileDownloadService.parseRange("bytes=0-1,5-6", 100)); // 여러 구간은 전체 전송
+        assertNull(LicenseFileDownloadService.parseRange("items=0-1", 100));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.sendLicenseFile(1L, 99L, request, response);
+        return response;
+    }
+}
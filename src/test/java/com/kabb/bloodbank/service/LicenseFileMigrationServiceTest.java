@@ -0,0 +1,120 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.dto.projection.LicenseFileRef;
+import com.kabb.bloodbank.dto.response.LicenseFileMigrationStatus;
+import com.kabb.bloodbank.repository.LicenseRepository;
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LicenseFileMigrationServiceTest {
+
+    private static final String HASH_A = "ab12" + "0".repeat(60);
+    private static final String HASH_B = "cd34" + "1".repeat(60);
+
+    @TempDir
+    Path tempDir;
+
+    private final LicenseRepository licenseRepository = mock(LicenseRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private LicenseFileMigrationService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(licenseRepository.updateFilePath(anyLong(), anyString(), anyString())).thenReturn(1);
+        service = new LicenseFileMigrationService(licenseRepository,
+                new FileSystemLicenseBlobStore(tempDir, true, true), transactionTemplate, Duration.ZERO);
+    }
+
+    @Test
+    void migratesFlatFilesIntoFanOutLayout() throws IOException {
+        Path flatA = Files.write(tempDir.resolve(HASH_A), "a".getBytes());
+        Path flatB = Files.write(tempDir.resolve(HASH_B), "b".getBytes());
+        when(licenseRepository.findFileRefsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new LicenseFileRef(1L, HASH_A, flatA.toString()),
+                new LicenseFileRef(2L, HASH_B, flatB.toString())));
+
+        LicenseFileMigrationStatus status = service.runToCompletion(0, 2, 2);
+
+        Path nestedA = tempDir.resolve("ab").resolve("12").resolve(HASH_A);
+        assertArrayEquals("a".getBytes(), Files.readAllBytes(nestedA));
+        assertFalse(Files.exists(flatA));
+        assertFalse(Files.exists(flatB));
+        verify(licenseRepository).updateFilePath(1L, flatA.toString(), nestedA.toString());
+        assertEquals(2, status.getMigrated());
+        assertEquals(2L, status.getLastProcessedId());
+    }
+
+    @Test
+    void sharedContentKeepsOldNameUntilLastRowMoves() throws IOException {
+        Path flat = Files.write(tempDir.resolve(HASH_A), "shared".getBytes());
+        when(licenseRepository.findFileRefsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new LicenseFileRef(1L, HASH_A, flat.toString())));
+        // 다음 배치의 행이 아직 옛 경로를 참조
+        when(licenseRepository.countByStoredFileNameAndFilePath(HASH_A, flat.toString())).thenReturn(1L);
+
+        service.runToCompletion(0, 1, 1);
+
+        assertTrue(Files.exists(flat));
+        assertTrue(Files.exists(tempDir.resolve("ab").resolve("12").resolve(HASH_A)));
+    }
+
+    @Test
+    void skipsRowsAlreadyInNewLayoutAndResumesFromCursor() throws IOException {
+        Path nested = tempDir.resolve("cd").resolve("34").resolve(HASH_B);
+        Files.createDirectories(nested.getParent());
+        Files.write(nested, "b".getBytes());
+        when(licenseRepository.findFileRefsAfter(eq(5L), any(Pageable.class))).thenReturn(List.of(
+                new LicenseFileRef(6L, HASH_B, nested.toString())));
+
+        LicenseFileMigrationStatus status = service.runToCompletion(5, 10, 1);
+
+        assertEquals(1, status.getSkipped());
+        assertEquals(6L, status.getLastProcessedId());
+        verify(licenseRepository, never()).updateFilePath(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void missingFileIsCountedAsFailureWithoutUpdatingRow() {
+        when(licenseRepository.findFileRefsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new LicenseFileRef(1L, HASH_A, tempDir.resolve(HASH_A).toString())));
+
+        LicenseFileMigrationStatus status = service.runToCompletion(0, 10, 1);
+
+        assertEquals(1, status.getFailed());
+        verify(licenseRepository, never()).updateFilePath(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> service.start(-1, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.start(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.start(0, 10, 0));
+    }
+}
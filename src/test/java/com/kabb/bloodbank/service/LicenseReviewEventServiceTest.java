@@ -0,0 +1,95 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.dto.response.LicenseReviewEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LicenseReviewEventServiceTest {
+
+    @Test
+    void replaysEventsAfterLastEventId() {
+        LicenseReviewEventService service = service(10, 10);
+        service.publish(ApprovalStatus.PENDING, 1L, 101L);
+        service.publish(ApprovalStatus.APPROVED, 2L, 102L);
+        service.publish(ApprovalStatus.REJECTED, 3L, 103L);
+
+        List<LicenseReviewEvent> missed = service.eventsAfter(service.eventId(1)).orElseThrow();
+
+        assertEquals(List.of(2L, 3L), missed.stream().map(LicenseReviewEvent::getLicenseId).toList());
+        assertEquals(ApprovalStatus.REJECTED, missed.get(1).getApprovalStatus());
+        assertTrue(service.eventsAfter(service.eventId(3)).orElseThrow().isEmpty());
+        assertTrue(service.eventsAfter(null).orElseThrow().isEmpty()); // 처음 연결은 재전송 없음
+    }
+
+    @Test
+    void requestsResetWhenEventsAreNoLongerBuffered() {
+        LicenseReviewEventService service = service(2, 10);
+        for (long id = 1; id <= 3; id++) {
+            service.publish(ApprovalStatus.PENDING, id, id + 100);
+        }
+
+        assertTrue(service.eventsAfter(service.eventId(0)).isEmpty()); // 1번이 밀려남
+        assertEquals(1, service.eventsAfter(service.eventId(1)).orElseThrow().size());
+        assertTrue(service.eventsAfter(service.eventId(7)).isEmpty());
+        assertTrue(service.eventsAfter("previous-start-2").isEmpty());
+        assertTrue(service.eventsAfter("garbage").isEmpty());
+    }
+
+    @Test
+    void publishesOnlyAfterCommit() {
+        LicenseReviewEventService service = service(10, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.publish(ApprovalStatus.APPROVED, 1L, 101L);
+            assertTrue(service.eventsAfter(service.eventId(0)).orElseThrow().isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, service.eventsAfter(service.eventId(0)).orElseThrow().size());
+    }
+
+    @Test
+    void turnsAwaySubscribersOverLimit() {
+        LicenseReviewEventService service = service(10, 1);
+
+        service.subscribe(null);
+        service.subscribe(null);
+
+        assertEquals(1, service.subscriberCount());
+    }
+
+    @Test
+    void dropsSubscriberThatStopsReading() {
+        List<Runnable> stalledSends = new ArrayList<>(); // 전송 스레드가 응답 쓰기에서 멈춘 상태
+        LicenseReviewEventService service = new LicenseReviewEventService(new SimpleMeterRegistry(), 10, 60000, 10,
+                3, Runnable::run, stalledSends::add);
+        service.subscribe(null);
+        assertEquals(1, service.subscriberCount());
+
+        for (long id = 1; id <= 3; id++) {
+            service.publish(ApprovalStatus.PENDING, id, id + 100); // 연결 인사 + 3건 = 상한 초과
+        }
+
+        assertEquals(0, service.subscriberCount());
+        assertEquals(1, stalledSends.size()); // 대기열을 비우는 작업은 하나뿐, 발행은 막히지 않음
+        assertEquals(3, service.eventsAfter(service.eventId(0)).orElseThrow().size());
+    }
+
+    private static LicenseReviewEventService service(int replayCapacity, int maxSubscribers) {
+        // 호출한 스레드에서 바로 실행해 순서대로 검증
+        return new LicenseReviewEventService(new SimpleMeterRegistry(), replayCapacity, 60000, maxSubscribers,
+                100, Runnable::run, Runnable::run);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.storage.FileSystemLicenseBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LicenseThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LicenseThumbnailService service;
+
+    private void newService() {
+        service = new LicenseThumbnailService(new FileSystemLicenseBlobStore(tempDir, true, true),
+                new SimpleMeterRegistry(), 1, 10, 320);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void scalesImagesToMaxDimension() throws IOException {
+        newService();
+        Path source = tempDir.resolve("scan.png");
+        ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB), "png", source.toFile());
+
+        assertTrue(service.generate("abcd1234", source.toString(), "image/png"));
+
+        BufferedImage thumbnail = ImageIO.read(service.findThumbnail("abcd1234").orElseThrow().toFile());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(160, thumbnail.getHeight());
+    }
+
+    @Test
+    void rendersFirstPdfPage() throws IOException {
+        newService();
+        Path source = tempDir.resolve("license.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.save(source.toFile());
+        }
+
+        assertTrue(service.generate("ef561234", source.toString(), "application/pdf"));
+
+        Path thumbnail = service.findThumbnail("ef561234").orElseThrow();
+        assertEquals(tempDir.resolve("ef").resolve("56"), thumbnail.getParent()); // 원본과 같은 디렉토리
+        assertEquals(320, ImageIO.read(thumbnail.toFile()).getHeight(), 1); // 렌더러 반올림 허용
+    }
+
+    @Test
+    void skipsUnreadableFormats() throws IOException {
+        newService();
+        Path source = Files.write(tempDir.resolve("photo.heic"), new byte[]{0, 0, 0, 24, 'f', 't', 'y', 'p'});
+
+        assertFalse(service.generate("12345678", source.toString(), "image/heic"));
+        assertTrue(service.findThumbnail("12345678").isEmpty());
+    }
+}
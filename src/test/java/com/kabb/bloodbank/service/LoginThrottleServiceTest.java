@@ -0,0 +1,66 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginThrottleServiceTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-01T00:00:10Z"), ZoneOffset.UTC);
+
+    @Test
+    void throttlesEmailAfterLimitRegardlessOfCase() {
+        LoginThrottleService service = service(1_000);
+        for (int i = 0; i < 5; i++) {
+            service.recordFailure("Victim@Example.com", null);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> service.checkAllowed("victim@example.com ", null));
+        assertDoesNotThrow(() -> service.checkAllowed("other@example.com", null));
+    }
+
+    @Test
+    void manyDistinctEmailsDoNotThrottleUnrelatedUser() {
+        LoginThrottleService service = service(1_000_000);
+        for (int i = 0; i < 200_000; i++) {
+            service.recordFailure("stuffed-" + i + "@example.com", null);
+        }
+
+        assertDoesNotThrow(() -> service.checkAllowed("real-user@example.com", "198.51.100.7"));
+    }
+
+    @Test
+    void manyDistinctIpsDoNotThrottleUnrelatedIp() {
+        LoginThrottleService service = service(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            service.recordFailure(null, "10." + (i >>> 16) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF));
+        }
+
+        assertDoesNotThrow(() -> service.checkAllowed(null, "198.51.100.7"));
+    }
+
+    @Test
+    void groupsIpv6AddressesByPrefix() {
+        LoginThrottleService service = service(1_000);
+        for (int i = 1; i <= 50; i++) {
+            service.recordFailure(null, "2001:db8:0:1::" + Integer.toHexString(i));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> service.checkAllowed(null, "2001:db8:0:1::ffff"));
+        assertDoesNotThrow(() -> service.checkAllowed(null, "2001:db8:0:2::1"));
+        assertEquals("20010db800000001::/64", LoginThrottleService.ipKey("2001:db8:0:1::abcd"));
+        assertEquals("198.51.100.7", LoginThrottleService.ipKey("198.51.100.7"));
+    }
+
+    private LoginThrottleService service(long expectedFailures) {
+        return new LoginThrottleService(new SimpleMeterRegistry(), 300, 5, 50, 10_000, expectedFailures, clock);
+    }
+}
@@ -0,0 +1,118 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    };
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnExecutor() {
+        release.countDown();
+        service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, 1000);
+
+        String encoded = service.encode("password123");
+
+        assertEquals("hashed:password123", encoded);
+        assertTrue(service.matches("password123", encoded));
+        assertEquals(1, meterRegistry.get("password.hashing.latency").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_QueueFull_RejectsImmediately() throws Exception {
+        service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, 5000);
+
+        // 워커 1개를 점유하고 대기열 1칸을 채움
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        waitForQueueDepth(1);
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> service.encode("c"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue.depth").gauge().value());
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(2, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_ExpectedWaitOverTimeout_RejectsWithoutQueueing() throws Exception {
+        service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 64, 500);
+        // 해시 한 번에 300ms 걸린다고 측정된 상태
+        meterRegistry.get("password.hashing.latency").tag("operation", "encode").timer().record(Duration.ofMillis(300));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("a"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("b"));
+        waitForQueueDepth(1);
+
+        // 앞선 1건 + 자신 = 600ms > 500ms, 대기열에 자리가 있어도 기다리지 않고 거부
+        long startedAt = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, () -> service.encode("c"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 500);
+        assertEquals(1, service.getQueueDepth());
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(2, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_Timeout_Rejects() {
+        service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, 50);
+
+        assertThrows(TooManyRequestsException.class, () -> service.encode("slow"));
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (service.getQueueDepth() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, service.getQueueDepth());
+    }
+}
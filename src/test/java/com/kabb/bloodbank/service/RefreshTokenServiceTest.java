@@ -0,0 +1,182 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.domain.entity.RefreshToken;
+import com.kabb.bloodbank.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setRefreshTokenExpiration(1209600000L);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationService, properties);
+    }
+
+    @Test
+    void issueStoresOnlyHash() {
+        String rawToken = refreshTokenService.issue(1L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(rawToken, captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+        assertEquals(1L, captor.getValue().getUserId());
+    }
+
+    @Test
+    void rotateIssuesNextTokenInSameFamily() {
+        RefreshToken current = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate("raw");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(1L, result.getUserId());
+        assertEquals("family-1", captor.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void reusedTokenRevokesWholeFamily() {
+        RefreshToken used = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .usedAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(used));
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("raw"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(tokenRevocationService).revokeAllSessions(1L);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void concurrentRefreshWithinGraceReturnsIssuedSuccessor() {
+        RefreshToken fresh = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        RefreshToken justUsed = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .usedAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.of(fresh), Optional.of(justUsed));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+
+        String first = refreshTokenService.rotate("raw").getRefreshToken();
+        String second = refreshTokenService.rotate("raw").getRefreshToken(); // 다른 탭의 동시 갱신
+
+        assertEquals(first, second);
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        verify(tokenRevocationService, never()).revokeAllSessions(any());
+    }
+
+    @Test
+    void lostUpdateOnConcurrentlyRevokedFamilyIssuesNothing() {
+        RefreshToken fresh = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        RefreshToken revoked = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .revokedAt(LocalDateTime.now())
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(fresh));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0); // 로그아웃이 먼저 커밋됨
+        when(refreshTokenRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(revoked));
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("raw"));
+
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void replayWithinGraceWithoutRecordedSuccessorIsTreatedAsReuse() {
+        RefreshToken justUsed = RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .usedAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(justUsed));
+
+        // 다른 노드가 로테이션해 이 노드에는 다음 토큰 기록이 없음
+        assertThrows(IllegalArgumentException.class, () -> refreshTokenService.rotate("raw"));
+
+        verify(refreshTokenRepository, never()).save(any());
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(tokenRevocationService).revokeAllSessions(1L);
+    }
+
+    @Test
+    void revokeIgnoresTokenOfAnotherUser() {
+        RefreshToken othersToken = RefreshToken.builder()
+                .id(10L)
+                .userId(2L)
+                .familyId("family-2")
+                .tokenHash("hash")
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(othersToken));
+
+        refreshTokenService.revoke("raw", 1L);
+
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.domain.entity.TokenRevocation;
+import com.kabb.bloodbank.domain.enums.RevocationScope;
+import com.kabb.bloodbank.repository.TokenRevocationRepository;
+import com.kabb.bloodbank.security.JwtKeyRing;
+import com.kabb.bloodbank.security.JwtPrincipal;
+import com.kabb.bloodbank.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+    @Mock
+    private JwtProperties jwtProperties;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedRevocations", 1000L);
+        when(tokenRevocationRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        tokenRevocationService.init();
+    }
+
+    @Test
+    void acceptsLoginRightAfterRevokingAllSessions() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
+
+        Instant before = Instant.now().minusMillis(1);
+        tokenRevocationService.revokeAllSessions(1L);
+        // 같은 초 안에 다시 로그인해도 새 토큰은 거부되지 않아야 함
+        JwtPrincipal relogin = jwtUtil.parseToken(jwtUtil.generateToken(1L, "user@example.com", "USER")).orElseThrow();
+
+        assertFalse(tokenRevocationService.isRevoked(relogin));
+        assertTrue(tokenRevocationService.isRevoked(principal(1L, before)));
+        assertFalse(tokenRevocationService.isRevoked(principal(2L, before)));
+    }
+
+    @Test
+    void refreshReadsOnlyNewRevocations() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        when(tokenRevocationRepository.findByCreatedAtAfter(any())).thenReturn(List.of(TokenRevocation.builder()
+                .scope(RevocationScope.USER)
+                .userId(3L)
+                .revokedBefore(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked(principal(3L, issuedAt)));
+        verify(tokenRevocationRepository, never()).findAll();
+    }
+
+    private static JwtPrincipal principal(Long userId, Instant issuedAt) {
+        return new JwtPrincipal(userId, "user@example.com", "USER", null, issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
@@ -0,0 +1,44 @@
+package com.kabb.bloodbank.service;
+
+import com.kabb.bloodbank.domain.enums.ApprovalStatus;
+import com.kabb.bloodbank.domain.enums.UserRole;
+import com.kabb.bloodbank.dto.projection.UserCredentials;
+import com.kabb.bloodbank.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCredentialCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserCredentialCache cache = new UserCredentialCache(userRepository, new SimpleMeterRegistry(),
+            100, Duration.ofMinutes(10));
+
+    @Test
+    void invalidatesEntryLoadedWithDifferentCase() {
+        when(userRepository.findCredentialsByEmail("Test@Example.com"))
+                .thenReturn(Optional.of(credentials(true)));
+
+        cache.get(" Test@Example.com ");
+        cache.get("test@example.com"); // 같은 사용자로 적중
+        verify(userRepository, times(1)).findCredentialsByEmail("Test@Example.com");
+
+        cache.invalidate("test@example.com"); // 저장된 이메일로 제거
+
+        assertTrue(cache.get("Test@Example.com").isPresent());
+        verify(userRepository, times(2)).findCredentialsByEmail("Test@Example.com");
+    }
+
+    private static UserCredentials credentials(boolean active) {
+        return new UserCredentials(1L, "test@example.com", "Test User", "encoded", UserRole.USER, active,
+                ApprovalStatus.APPROVED);
+    }
+}
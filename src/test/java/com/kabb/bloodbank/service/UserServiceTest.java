@@ -3,22 +3,29 @@ package com.kabb.bloodbank.service;
 import com.kabb.bloodbank.domain.entity.User;
 import com.kabb.bloodbank.domain.enums.ApprovalStatus;
 import com.kabb.bloodbank.domain.enums.UserRole;
+import com.kabb.bloodbank.dto.projection.UserCredentials;
 import com.kabb.bloodbank.dto.request.LoginRequest;
+import com.kabb.bloodbank.dto.request.RefreshTokenRequest;
 import com.kabb.bloodbank.dto.request.SignUpRequest;
 import com.kabb.bloodbank.dto.response.LoginResponse;
+import com.kabb.bloodbank.exception.TooManyRequestsException;
 import com.kabb.bloodbank.repository.AgreementRepository;
 import com.kabb.bloodbank.repository.HospitalRepository;
 import com.kabb.bloodbank.repository.LicenseRepository;
 import com.kabb.bloodbank.repository.UserRepository;
+import com.kabb.bloodbank.security.JwtPrincipal;
 import com.kabb.bloodbank.util.JwtUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -39,11 +46,25 @@ class UserServiceTest {
     @Mock
     private FileStorageService fileStorageService;
     @Mock
+    private LicenseThumbnailService licenseThumbnailService;
+    @Mock
     private AuditLogService auditLogService;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     @Mock
     private JwtUtil jwtUtil;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private LoginThrottleService loginThrottleService;
+    @Mock
+    private UserCredentialCache userCredentialCache;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private LicenseReviewEventService licenseReviewEventService;
 
     @InjectMocks
     private UserService userService;
@@ -60,9 +81,10 @@ class UserServiceTest {
                 .active(true)
                 .build();
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", "encoded")).thenReturn(true);
+        when(userCredentialCache.get("test@example.com")).thenReturn(Optional.of(credentialsOf(user)));
+        when(passwordHashingService.matches("password123", "encoded")).thenReturn(true);
         when(jwtUtil.generateToken(1L, "test@example.com", "USER")).thenReturn("token");
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
 
         LoginRequest request = LoginRequest.builder()
                 .email("test@example.com")
@@ -72,6 +94,7 @@ class UserServiceTest {
         LoginResponse response = userService.login(request, null);
 
         assertEquals("token", response.getAccessToken());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals(1L, response.getUserId());
         assertEquals("test@example.com", response.getEmail());
         assertEquals("Test User", response.getName());
@@ -80,6 +103,37 @@ class UserServiceTest {
         verify(auditLogService, times(1)).log(any(), any(), any(), any(), any(), any(), any());
     }
 
+    @Test
+    void loginRehashesOutdatedPassword() {
+        User user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .password("legacy-hash")
+                .name("Test User")
+                .role(UserRole.USER)
+                .approvalStatus(ApprovalStatus.APPROVED)
+                .active(true)
+                .build();
+
+        when(userCredentialCache.get("test@example.com")).thenReturn(Optional.of(credentialsOf(user)));
+        when(passwordHashingService.matches("password123", "legacy-hash")).thenReturn(true);
+        when(passwordHashingService.needsRehash("legacy-hash")).thenReturn(true);
+        when(passwordHashingService.encodeInBackground("password123"))
+                .thenReturn(CompletableFuture.completedFuture("{bcrypt}new-hash"));
+        when(userRepository.updatePassword(1L, "legacy-hash", "{bcrypt}new-hash")).thenReturn(1);
+        when(jwtUtil.generateToken(1L, "test@example.com", "USER")).thenReturn("token");
+
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .build();
+
+        userService.login(request, null);
+
+        verify(userRepository).updatePassword(1L, "legacy-hash", "{bcrypt}new-hash");
+        verify(userCredentialCache).invalidate("test@example.com");
+    }
+
     @Test
     void loginFailsWithWrongPassword() {
         User user = User.builder()
@@ -91,8 +145,8 @@ class UserServiceTest {
                 .active(true)
                 .build();
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrong", "encoded")).thenReturn(false);
+        when(userCredentialCache.get("test@example.com")).thenReturn(Optional.of(credentialsOf(user)));
+        when(passwordHashingService.matches("wrong", "encoded")).thenReturn(false);
 
         LoginRequest request = LoginRequest.builder()
                 .email("test@example.com")
@@ -101,6 +155,21 @@ class UserServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> userService.login(request, null));
         verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any());
+        verify(loginThrottleService).recordFailure("test@example.com", null);
+    }
+
+    @Test
+    void loginRejectedWhenThrottledBeforeLookup() {
+        doThrow(new TooManyRequestsException("too many", 30))
+                .when(loginThrottleService).checkAllowed("test@example.com", null);
+
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .build();
+
+        assertThrows(TooManyRequestsException.class, () -> userService.login(request, null));
+        verifyNoInteractions(userCredentialCache, passwordHashingService);
     }
 
     @Test
@@ -114,8 +183,8 @@ class UserServiceTest {
                 .active(false)
                 .build();
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", "encoded")).thenReturn(true);
+        when(userCredentialCache.get("test@example.com")).thenReturn(Optional.of(credentialsOf(user)));
+        when(passwordHashingService.matches("password123", "encoded")).thenReturn(true);
 
         LoginRequest request = LoginRequest.builder()
                 .email("test@example.com")
@@ -137,4 +206,117 @@ class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () -> userService.signUp(request, null));
         verifyNoInteractions(fileStorageService);
     }
+
+    @Test
+    void signUpPromotesStagedFileAfterCommit() throws Exception {
+        FileStorageService.FileStorageResult fileResult = FileStorageService.FileStorageResult.builder()
+                .filePath("/licenses/a.pdf")
+                .stagedPath("/licenses/.staging/a.pdf")
+                .build();
+        SignUpRequest request = SignUpRequest.builder()
+                .email("new@example.com")
+                .password("password123")
+                .build();
+        when(passwordHashingService.encode("password123")).thenReturn("encoded");
+        when(fileStorageService.stageLicenseFile(any())).thenReturn(fileResult);
+        when(transactionTemplate.execute(any())).thenReturn(User.builder().id(1L).email("new@example.com").build());
+
+        userService.signUp(request, null);
+
+        InOrder inOrder = inOrder(fileStorageService, transactionTemplate);
+        inOrder.verify(fileStorageService).stageLicenseFile(any());
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(fileStorageService).promote(fileResult);
+        verify(fileStorageService, never()).discardStaged(any());
+    }
+
+    @Test
+    void signUpDiscardsStagedFileWhenTransactionFails() throws Exception {
+        FileStorageService.FileStorageResult fileResult = FileStorageService.FileStorageResult.builder()
+                .filePath("/licenses/a.pdf")
+                .stagedPath("/licenses/.staging/a.pdf")
+                .build();
+        SignUpRequest request = SignUpRequest.builder()
+                .email("new@example.com")
+                .password("password123")
+                .build();
+        when(fileStorageService.stageLicenseFile(any())).thenReturn(fileResult);
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> userService.signUp(request, null));
+        verify(fileStorageService).discardStaged(fileResult);
+        verify(fileStorageService, never()).promote(any());
+    }
+
+    @Test
+    void refreshIssuesNewTokensWithoutPasswordCheck() {
+        User user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .password("encoded")
+                .name("Test User")
+                .role(UserRole.USER)
+                .approvalStatus(ApprovalStatus.APPROVED)
+                .active(true)
+                .build();
+
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.RotationResult(1L, "new-refresh"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(1L, "test@example.com", "USER")).thenReturn("token");
+
+        LoginResponse response = userService.refresh(RefreshTokenRequest.builder()
+                .refreshToken("old-refresh")
+                .build());
+
+        assertEquals("token", response.getAccessToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void logoutRevokesCurrentToken() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "test@example.com", "USER", "jti-1",
+                Instant.now(), Instant.now().plusSeconds(3600));
+
+        userService.logout(principal, null, false, null);
+
+        verify(tokenRevocationService).revokeToken(principal);
+        verify(tokenRevocationService, never()).revokeAllSessions(any());
+        verify(auditLogService, times(1)).log(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void logoutAllRevokesEverySession() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "test@example.com", "USER", "jti-1",
+                Instant.now(), Instant.now().plusSeconds(3600));
+
+        userService.logout(principal, null, true, null);
+
+        verify(tokenRevocationService).revokeToken(principal);
+        verify(tokenRevocationService).revokeAllSessions(1L);
+        verify(refreshTokenService).revokeAllForUser(1L);
+    }
+
+    @Test
+    void deactivateUserInvalidatesCredentialsAndRevokesSessions() {
+        User user = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .active(true)
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deactivateUser(1L, 99L, null);
+
+        assertEquals(false, user.getActive());
+        verify(userCredentialCache).invalidate("test@example.com");
+        verify(tokenRevocationService).revokeAllSessions(1L);
+        verify(refreshTokenService).revokeAllForUser(1L);
+    }
+
+    private static UserCredentials credentialsOf(User user) {
+        return new UserCredentials(user.getId(), user.getEmail(), user.getName(), user.getPassword(),
+                user.getRole(), user.getActive(), user.getApprovalStatus());
+    }
 }
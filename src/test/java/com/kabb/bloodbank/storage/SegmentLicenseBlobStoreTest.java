@@ -0,0 +1,164 @@
+package com.kabb.bloodbank.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentLicenseBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SegmentLicenseBlobStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void storesManyBlobsInOneSegmentAndReadsThemBack() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+        byte[] first = randomBytes(1000, 1);
+        byte[] second = randomBytes(2000, 2);
+
+        store.promote(stage(first), "hash-1");
+        store.promote(stage(second), "hash-2");
+
+        assertArrayEquals(first, read("hash-1"));
+        assertArrayEquals(second, read("hash-2"));
+        assertEquals(store.locate("hash-1", null).orElseThrow().file(),
+                store.locate("hash-2", null).orElseThrow().file());
+        assertEquals("segment:hash-1", store.findExisting("hash-1").orElseThrow());
+    }
+
+    @Test
+    void duplicatePromoteOnlyDeletesStagedFile() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+        store.promote(stage(randomBytes(100, 1)), "hash-1");
+        long segmentSize = store.locate("hash-1", null).orElseThrow().file().toFile().length();
+
+        Path staged = stage(randomBytes(100, 1));
+        store.promote(staged, "hash-1");
+
+        assertFalse(Files.exists(staged));
+        assertEquals(segmentSize, store.locate("hash-1", null).orElseThrow().file().toFile().length());
+    }
+
+    @Test
+    void rollsToNewSegmentWhenFull() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1500, 0.5);
+        store.promote(stage(randomBytes(1000, 1)), "hash-1");
+        store.promote(stage(randomBytes(1000, 2)), "hash-2");
+
+        assertNotEquals(store.locate("hash-1", null).orElseThrow().file(),
+                store.locate("hash-2", null).orElseThrow().file());
+    }
+
+    @Test
+    void indexSurvivesRestartAndIgnoresTornTail() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+        byte[] kept = randomBytes(500, 1);
+        store.promote(stage(kept), "hash-1");
+        store.promote(stage(randomBytes(500, 2)), "hash-2");
+        store.delete("hash-2");
+        store.close();
+
+        // 기록 도중 중단된 것처럼 색인 끝에 잘린 바이트 추가
+        Files.write(tempDir.resolve("segments").resolve("index.log"), new byte[]{1, 0, 9, 'h'},
+                StandardOpenOption.APPEND);
+
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+        assertEquals(1, store.size());
+        assertArrayEquals(kept, read("hash-1"));
+        assertTrue(store.locate("hash-2", null).isEmpty());
+    }
+
+    @Test
+    void compactionMovesLiveBlobsAndDropsOldSegment() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 3000, 0.5);
+        byte[] survivor = randomBytes(1000, 1);
+        store.promote(stage(survivor), "hash-1");
+        store.promote(stage(randomBytes(1000, 2)), "hash-2");
+        Path oldSegment = store.locate("hash-1", null).orElseThrow().file();
+        store.promote(stage(randomBytes(1000, 3)), "hash-3"); // 다음 세그먼트로 넘어감
+        store.delete("hash-2");
+
+        assertEquals(1, store.compact());
+
+        assertArrayEquals(survivor, read("hash-1"));
+        assertNotEquals(oldSegment, store.locate("hash-1", null).orElseThrow().file());
+        assertTrue(Files.exists(oldSegment)); // 진행 중인 다운로드를 위해 한 주기 유지
+        store.compact();
+        assertFalse(Files.exists(oldSegment));
+
+        store.close();
+        store = new SegmentLicenseBlobStore(tempDir, 3000, 0.5);
+        assertArrayEquals(survivor, read("hash-1"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void readsPlainFilesStoredBeforeSwitchingToSegments() throws IOException {
+        Path legacy = Files.write(Files.createDirectories(tempDir.resolve("ab/cd")).resolve("abcd-old.pdf"),
+                randomBytes(500, 3));
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+
+        BlobRegion region = store.locate("abcd-old", legacy.toString()).orElseThrow();
+        try (InputStream in = store.openStream(region)) {
+            assertArrayEquals(Files.readAllBytes(legacy), in.readAllBytes());
+        }
+        assertTrue(store.locate("abcd-old", "segment:abcd-old").isEmpty());
+    }
+
+    @Test
+    void refusesSecondOpenOfSameStore() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+
+        assertThrows(IllegalStateException.class, () -> new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5));
+    }
+
+    @Test
+    void orphanDeleteSkipsBlobsReusedAfterScan() throws IOException {
+        store = new SegmentLicenseBlobStore(tempDir, 1024 * 1024, 0.5);
+        store.promote(stage(randomBytes(100, 1)), "hash-1");
+        StoredBlob blob = store.scan(tempDir.resolve("segments")).get(0);
+
+        assertFalse(store.deleteIfUnused(blob, Instant.now().minusSeconds(60))); // 방금 저장됨
+        assertTrue(store.deleteIfUnused(blob, Instant.now().plusSeconds(60)));
+        assertTrue(store.locate("hash-1", null).isEmpty());
+    }
+
+    private byte[] read(String storedFileName) throws IOException {
+        try (InputStream in = store.openStream(store.locate(storedFileName, null).orElseThrow())) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path stage(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(tempDir, "staged", ".tmp"), content);
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
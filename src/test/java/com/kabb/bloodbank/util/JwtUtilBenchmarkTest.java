@@ -0,0 +1,64 @@
+package com.kabb.bloodbank.util;
+
+import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.security.JwtKeyRing;
+import com.kabb.bloodbank.security.JwtPrincipal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 요청당 JWT 검증 비용 마이크로벤치마크
+ * 실행: ./gradlew benchmark
+ */
+@Tag("benchmark")
+class JwtUtilBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 100_000;
+
+    private long sink;
+
+    @Test
+    void compareLegacyAndSingleParsePath() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
+        String token = jwtUtil.generateToken(1L, "test@example.com", "USER");
+
+        // 기존 필터 경로: validateToken + 클레임 3회 조회 = 파싱 4회
+        Runnable legacy = () -> {
+            if (jwtUtil.validateToken(token)) {
+                String role = jwtUtil.getRoleFromToken(token);
+                String email = jwtUtil.getEmailFromToken(token);
+                Long userId = jwtUtil.getUserIdFromToken(token);
+                sink += role.length() + email.length() + userId;
+            }
+        };
+
+        // 개선된 필터 경로: parseToken 1회
+        Runnable singleParse = () -> {
+            JwtPrincipal principal = jwtUtil.parseToken(token).orElseThrow();
+            sink += principal.getRole().length() + principal.getEmail().length() + principal.getUserId();
+        };
+
+        double legacyNanos = measure(legacy);
+        double singleParseNanos = measure(singleParse);
+
+        System.out.printf("[JWT benchmark] legacy (4 parses): %.0f ns/op%n", legacyNanos);
+        System.out.printf("[JWT benchmark] parseToken (1 parse): %.0f ns/op%n", singleParseNanos);
+        System.out.printf("[JWT benchmark] speedup: %.2fx (sink=%d)%n", legacyNanos / singleParseNanos, sink);
+    }
+
+    private double measure(Runnable task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / (double) MEASURE_ITERATIONS;
+    }
+}
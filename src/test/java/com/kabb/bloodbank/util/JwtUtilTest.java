@@ -1,9 +1,16 @@
 package com.kabb.bloodbank.util;
 
 import com.kabb.bloodbank.config.JwtProperties;
+import com.kabb.bloodbank.security.JwtKeyRing;
+import com.kabb.bloodbank.security.JwtPrincipal;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JwtUtilTest {
@@ -14,7 +21,7 @@ class JwtUtilTest {
         properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
         properties.setAccessTokenExpiration(3600000);
 
-        JwtUtil jwtUtil = new JwtUtil(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
 
         String token = jwtUtil.generateToken(1L, "test@example.com", "USER");
 
@@ -23,4 +30,135 @@ class JwtUtilTest {
         assertEquals("test@example.com", jwtUtil.getEmailFromToken(token));
         assertEquals("USER", jwtUtil.getRoleFromToken(token));
     }
+
+    @Test
+    void parseTokenReturnsPrincipalInSinglePass() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
+
+        String token = jwtUtil.generateToken(1L, "test@example.com", "ADMIN");
+
+        JwtPrincipal principal = jwtUtil.parseToken(token).orElseThrow();
+        assertEquals(1L, principal.getUserId());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals("ADMIN", principal.getRole());
+        assertNotNull(principal.getExpiresAt());
+    }
+
+    @Test
+    void scopedTokenIsOnlyAcceptedForItsScope() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
+
+        String streamToken = jwtUtil.generateScopedToken(1L, "admin@example.com", "ADMIN",
+                JwtUtil.LICENSE_EVENTS_SCOPE);
+        String accessToken = jwtUtil.generateToken(1L, "admin@example.com", "ADMIN");
+
+        assertEquals("ADMIN", jwtUtil.parseScopedToken(streamToken, JwtUtil.LICENSE_EVENTS_SCOPE).orElseThrow().getRole());
+        assertFalse(jwtUtil.parseToken(streamToken).isPresent()); // 일반 API 인증에는 쓸 수 없음
+        assertFalse(jwtUtil.parseScopedToken(accessToken, JwtUtil.LICENSE_EVENTS_SCOPE).isPresent());
+    }
+
+    @Test
+    void parseTokenRejectsTamperedOrExpiredToken() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(-1000);
+
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyRing(properties));
+
+        String expired = jwtUtil.generateToken(1L, "test@example.com", "USER");
+        assertFalse(jwtUtil.parseToken(expired).isPresent());
+        assertFalse(jwtUtil.parseToken(expired + "x").isPresent());
+        assertFalse(jwtUtil.parseToken("not-a-token").isPresent());
+    }
+
+    @Test
+    void tokensSignedWithPreviousKeyRemainValidAfterRotation() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, keyRing);
+
+        String oldToken = jwtUtil.generateToken(1L, "test@example.com", "USER");
+
+        keyRing.rotate("2025-02", "my-rotated-secret-key-my-rotated-secret");
+        String newToken = jwtUtil.generateToken(2L, "new@example.com", "USER");
+
+        assertEquals("2025-02", keyRing.getActiveKeyId());
+        assertEquals(1L, jwtUtil.parseToken(oldToken).orElseThrow().getUserId());
+        assertEquals(2L, jwtUtil.parseToken(newToken).orElseThrow().getUserId());
+
+        keyRing.retire("default");
+        assertFalse(jwtUtil.parseToken(oldToken).isPresent());
+        assertTrue(jwtUtil.parseToken(newToken).isPresent());
+    }
+
+    @Test
+    void rotationIsWrittenToKeyRingFile(@TempDir Path dir) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("my-jwt-secret-key-my-jwt-secret-key");
+        properties.setAccessTokenExpiration(3600000);
+        properties.setKeyRingFile(dir.resolve("jwt-keys.properties").toString());
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, keyRing);
+        String oldToken = jwtUtil.generateToken(1L, "test@example.com", "USER");
+
+        keyRing.rotate("2025-02", "my-rotated-secret-key-my-rotated-secret");
+        keyRing.retire("default");
+        keyRing.reloadKeyRingFile(); // 주기적 재로드가 로테이션을 되돌리지 않음
+        String newToken = jwtUtil.generateToken(2L, "new@example.com", "USER");
+
+        assertEquals("2025-02", keyRing.getActiveKeyId());
+        assertFalse(jwtUtil.parseToken(oldToken).isPresent());
+
+        // 재시작해도 유지
+        JwtKeyRing restarted = new JwtKeyRing(properties);
+        JwtUtil restartedJwtUtil = new JwtUtil(properties, restarted);
+        assertEquals("2025-02", restarted.getActiveKeyId());
+        assertEquals(2L, restartedJwtUtil.parseToken(newToken).orElseThrow().getUserId());
+        assertFalse(restartedJwtUtil.parseToken(oldToken).isPresent());
+    }
+
+    @Test
+    void blankKeyRingFileIsTreatedAsUnset() {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm("ES256");
+        properties.setAccessTokenExpiration(3600000);
+        properties.setKeyRingFile(""); // jwt.key-ring-file= 로 비워 둔 경우
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, keyRing);
+
+        assertEquals(1L, jwtUtil.parseToken(jwtUtil.generateToken(1L, "test@example.com", "USER")).orElseThrow().getUserId());
+    }
+
+    @Test
+    void asymmetricModesSignAndPublishPublicKeys() {
+        for (String algorithm : new String[]{"ES256", "EdDSA"}) {
+            JwtProperties properties = new JwtProperties();
+            properties.setAlgorithm(algorithm);
+            properties.setAccessTokenExpiration(3600000);
+
+            JwtKeyRing keyRing = new JwtKeyRing(properties);
+            JwtUtil jwtUtil = new JwtUtil(properties, keyRing);
+
+            String token = jwtUtil.generateToken(1L, "test@example.com", "USER");
+
+            assertEquals(1L, jwtUtil.parseToken(token).orElseThrow().getUserId());
+            assertEquals(1, keyRing.getPublicJwks().size());
+            assertEquals(algorithm, keyRing.getPublicJwks().get(0).get("alg"));
+            assertEquals("default", keyRing.getPublicJwks().get(0).get("kid"));
+            assertNotNull(keyRing.getJwksETag());
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.kabb.bloodbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Test
+    void parsesFieldsAndFileAcrossSmallReads() throws IOException {
+        Random random = new Random(42);
+        byte[] file = new byte[200_000];
+        random.nextBytes(file);
+        // 경계의 앞부분과 같은 바이트열이 본문에 있어도 잘리지 않아야 함
+        byte[] partialDelimiter = ("\r\n--" + BOUNDARY).getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(partialDelimiter, 0, file, 1000, partialDelimiter.length - 1);
+        file[1000 + partialDelimiter.length - 1] = 'X';
+
+        byte[] body = multipartBody(file);
+        InputStream trickle = new FilterInputStream(new ByteArrayInputStream(body)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(3000)));
+            }
+        };
+
+        MultipartStreamParser parser = new MultipartStreamParser(trickle, BOUNDARY);
+
+        MultipartStreamParser.Part email = parser.nextPart();
+        assertEquals("email", email.getName());
+        assertFalse(email.isFile());
+        assertEquals("user@example.com", email.readString(100));
+
+        MultipartStreamParser.Part license = parser.nextPart();
+        assertEquals("licenseFile", license.getName());
+        assertEquals("면허증.pdf", license.getFileName());
+        assertEquals("application/pdf", license.getContentType());
+        assertArrayEquals(file, license.getBody().readAllBytes());
+
+        MultipartStreamParser.Part agreed = parser.nextPart();
+        assertEquals("true", agreed.readString(10));
+
+        assertNull(parser.nextPart());
+    }
+
+    @Test
+    void skipsUnreadPartBody() throws IOException {
+        byte[] body = multipartBody(new byte[50_000]);
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY);
+
+        parser.nextPart();
+        parser.nextPart(); // 파일 본문을 읽지 않고 넘어감
+        MultipartStreamParser.Part agreed = parser.nextPart();
+
+        assertEquals("privacyPolicyAgreed", agreed.getName());
+        assertEquals("true", agreed.readString(10));
+    }
+
+    @Test
+    void rejectsTruncatedBody() {
+        byte[] body = multipartBody(new byte[10_000]);
+        byte[] truncated = java.util.Arrays.copyOf(body, body.length / 2);
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(truncated), BOUNDARY);
+
+        assertThrows(IOException.class, () -> {
+            parser.nextPart();
+            parser.nextPart().getBody().readAllBytes();
+        });
+    }
+
+    @Test
+    void keepsSemicolonsAndEscapedQuotesInQuotedFileName() throws IOException {
+        byte[] body = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"licenseFile\"; filename=\"a;b \\\"c\\\".pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n"
+                + "%PDF\r\n"
+                + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        MultipartStreamParser parser = new MultipartStreamParser(new ByteArrayInputStream(body), BOUNDARY);
+
+        MultipartStreamParser.Part license = parser.nextPart();
+
+        assertEquals("licenseFile", license.getName());
+        assertEquals("a;b \"c\".pdf", license.getFileName());
+        assertEquals("%PDF", license.readString(10));
+    }
+
+    @Test
+    void extractsBoundaryFromContentType() {
+        assertEquals("abc", MultipartStreamParser.extractBoundary("multipart/form-data; boundary=abc"));
+        assertEquals("a b", MultipartStreamParser.extractBoundary("multipart/form-data; boundary=\"a b\""));
+        assertNull(MultipartStreamParser.extractBoundary("application/json"));
+    }
+
+    private static byte[] multipartBody(byte[] file) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"email\"\r\n\r\n"
+                + "user@example.com\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"licenseFile\"; filename=\"면허증.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(file);
+        out.writeBytes(("\r\n--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"privacyPolicyAgreed\"\r\n\r\n"
+                + "true\r\n"
+                + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
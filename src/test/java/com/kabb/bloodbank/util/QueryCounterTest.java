@@ -0,0 +1,32 @@
+package com.kabb.bloodbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCounterTest {
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    @Test
+    void countsStatementsSinceScopeStarted() {
+        inspector.inspect("select 1");
+        QueryCounter.Scope outer = QueryCounter.start();
+        inspector.inspect("select 2");
+        QueryCounter.Scope inner = QueryCounter.start();
+        inspector.inspect("select 3");
+
+        assertEquals(2, outer.count());
+        assertEquals(1, inner.count());
+    }
+
+    @Test
+    void ignoresStatementsFromOtherThreads() {
+        QueryCounter.Scope scope = QueryCounter.start();
+        CompletableFuture.runAsync(() -> inspector.inspect("select 1")).join();
+
+        assertEquals(0, scope.count());
+    }
+}
@@ -0,0 +1,70 @@
+package com.kabb.bloodbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void countsWithinCurrentWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, 4, WINDOW);
+        for (int i = 0; i < 5; i++) {
+            counter.increment("user@example.com", 1_000);
+        }
+
+        assertEquals(5.0, counter.estimate("user@example.com", 2_000));
+        assertEquals(0.0, counter.estimate("other@example.com", 2_000));
+    }
+
+    @Test
+    void previousWindowDecaysLinearly() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, 4, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            counter.increment("ip", WINDOW - 1);
+        }
+
+        // 다음 윈도우의 절반 지점: 이전 윈도우 10회 중 절반만 반영
+        assertEquals(5.0, counter.estimate("ip", WINDOW + WINDOW / 2), 0.001);
+        // 두 윈도우가 지나면 완전히 사라짐
+        assertEquals(0.0, counter.estimate("ip", 2 * WINDOW + 1));
+    }
+
+    @Test
+    void oldWindowIsClearedOnReuse() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1024, 4, WINDOW);
+        counter.increment("key", 0);
+        counter.increment("key", 2 * WINDOW); // 같은 슬롯 재사용
+
+        assertEquals(1.0, counter.estimate("key", 2 * WINDOW));
+    }
+
+    @Test
+    void neverUnderestimatesUnderManyDistinctKeys() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4096, 4, WINDOW);
+        for (int i = 0; i < 100_000; i++) {
+            counter.increment("key-" + i, 0);
+        }
+        counter.increment("target", 0);
+        counter.increment("target", 0);
+
+        assertTrue(counter.estimate("target", 0) >= 2.0);
+        assertEquals(4096, counter.width());
+    }
+
+    @Test
+    void sizedSketchKeepsUnrelatedKeysBelowTolerance() {
+        int width = SlidingWindowCounter.widthFor(100_000, 2.5);
+        SlidingWindowCounter counter = new SlidingWindowCounter(width, 4, WINDOW);
+        for (int i = 0; i < 100_000; i++) {
+            counter.increment("key-" + i, 0);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(counter.estimate("unrelated-" + i, 0) < 5.0);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kabb.bloodbank.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UploadValidatingInputStreamTest {
+
+    @Test
+    void detectsSupportedSignatures() {
+        assertEquals(UploadValidatingInputStream.FileType.PDF, detect("%PDF-1.7"));
+        assertEquals(UploadValidatingInputStream.FileType.HEIC, detect("\0\0\0\u0018ftypheic"));
+        assertEquals(UploadValidatingInputStream.FileType.HEIC, detect("\0\0\0\u0018ftypmif1"));
+        assertNull(detect("\0\0\0\u0018ftypisom")); // MP4
+        assertNull(detect("GIF89a......"));
+    }
+
+    @Test
+    void shortFileIsVerifiedAtEndOfStream() throws IOException {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9};
+        UploadValidatingInputStream in = new UploadValidatingInputStream(
+                new ByteArrayInputStream(jpeg), "image/jpeg", 1024);
+
+        in.transferTo(OutputStream.nullOutputStream());
+
+        assertEquals(UploadValidatingInputStream.FileType.JPEG, in.verifiedType());
+    }
+
+    @Test
+    void stopsWhenByteCountExceedsCap() {
+        byte[] content = new byte[4096];
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 5);
+        UploadValidatingInputStream in = new UploadValidatingInputStream(
+                new ByteArrayInputStream(content), "application/pdf", 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> in.transferTo(OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    void rejectsImageDeclaredAsPdf() {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1};
+        UploadValidatingInputStream in = new UploadValidatingInputStream(
+                new ByteArrayInputStream(jpeg), "application/pdf", 1024);
+
+        assertThrows(IllegalArgumentException.class, () -> in.read(new byte[64]));
+    }
+
+    private static UploadValidatingInputStream.FileType detect(String head) {
+        byte[] bytes = head.getBytes(StandardCharsets.ISO_8859_1);
+        return UploadValidatingInputStream.detect(bytes, bytes.length);
+    }
+}